@@ -0,0 +1,85 @@
+package boggle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+Dictionaries are generated from English letter frequencies; a share of the words are read off random paths of
+the board so that a realistic number of them are actually found.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoggleSolverBenchmark {
+    private static final String LETTERS = "EEEEEEEEEEEETTTTTTTTTAAAAAAAAOOOOOOOIIIIIIINNNNNNNSSSSSSRRRRRRHHHHHLLLLDDDDCCCUUUMMFFPPGGWWYYBVKXJQZ";
+
+    @Param({"10000", "100000"})
+    private int words;
+
+    @Param({"4", "8"})
+    private int side;
+
+    private BoggleSolver solver;
+    private BoggleBoard board;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        char[][] letters = new char[side][side];
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                letters[i][j] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+            }
+        }
+        board = new BoggleBoard(letters);
+
+        String[] dictionary = new String[words];
+        for (int w = 0; w < words; w++) {
+            int length = random.nextInt(3, 11);
+            dictionary[w] = w % 10 == 0 ? pathWord(letters, length, random) : randomWord(length, random);
+        }
+        solver = new BoggleSolver(dictionary);
+    }
+
+    private static String randomWord(int length, SplittableRandom random) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return sb.toString();
+    }
+
+    // a word spelled by a random walk over adjacent dice, which may revisit a die and then not be valid
+    private static String pathWord(char[][] letters, int length, SplittableRandom random) {
+        int n = letters.length;
+        int row = random.nextInt(n);
+        int col = random.nextInt(n);
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append(letters[row][col]);
+            row = Math.max(0, Math.min(n - 1, row + random.nextInt(-1, 2)));
+            col = Math.max(0, Math.min(n - 1, col + random.nextInt(-1, 2)));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public Iterable<String> getAllValidWords() {
+        return solver.getAllValidWords(board);
+    }
+}
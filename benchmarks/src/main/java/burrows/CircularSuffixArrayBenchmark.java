@@ -0,0 +1,55 @@
+package burrows;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// random text over a small alphabet and highly repetitive text, which is the slow case for suffix sorting
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CircularSuffixArrayBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int length;
+
+    @Param({"random", "repetitive"})
+    private String text;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(length);
+        if (text.equals("random")) {
+            SplittableRandom random = new SplittableRandom(42);
+            for (int i = 0; i < length; i++) {
+                sb.append((char) ('a' + random.nextInt(16)));
+            }
+        } else {
+            String unit = "abracadabra ";
+            for (int i = 0; i < length; i++) {
+                sb.append(unit.charAt(i % unit.length()));
+            }
+        }
+        input = sb.toString();
+    }
+
+    @Benchmark
+    public int build() {
+        return new CircularSuffixArray(input).index(0);
+    }
+}
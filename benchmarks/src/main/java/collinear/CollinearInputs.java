@@ -0,0 +1,42 @@
+package collinear;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+final class CollinearInputs {
+    private static final int BOUND = 32768;
+
+    private CollinearInputs() {
+    }
+
+    // distinct points, about a fifth of them on planted lines of 4 to 8 points
+    static Point[] points(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<Long> seen = new HashSet<>();
+        Point[] points = new Point[size];
+        int count = 0;
+        while (count < size / 5) {
+            int x = random.nextInt(BOUND / 2);
+            int y = random.nextInt(BOUND / 2);
+            int dx = random.nextInt(1, 64);
+            int dy = random.nextInt(-63, 64);
+            int length = Math.min(random.nextInt(4, 9), size / 5 - count);
+            for (int i = 0; i < length; i++) {
+                int px = x + i * dx;
+                int py = y + i * dy;
+                if (py >= 0 && py < BOUND && seen.add((long) px << 32 | py)) {
+                    points[count++] = new Point(px, py);
+                }
+            }
+        }
+        while (count < size) {
+            int x = random.nextInt(BOUND);
+            int y = random.nextInt(BOUND);
+            if (seen.add((long) x << 32 | y)) {
+                points[count++] = new Point(x, y);
+            }
+        }
+        return points;
+    }
+}
@@ -0,0 +1,60 @@
+package collinear;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// random points on a 32768 x 32768 grid with some planted lines of 4 to 8 points
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastCollinearPointsBenchmark {
+    @Param({"400", "1600", "6400"})
+    private int size;
+
+    // only used by the parallel benchmark; run with -p threads=1,2,4,8,16,32 to see how the origin split scales
+    @Param({"4"})
+    private int threads;
+
+    private Point[] points;
+    private PointArray pointArray;
+
+    @Setup
+    public void setUp() {
+        points = CollinearInputs.points(size, 42);
+        pointArray = PointArray.of(points);
+    }
+
+    @Benchmark
+    public int fastCollinearPoints() {
+        return new FastCollinearPoints(points).numberOfSegments();
+    }
+
+    @Benchmark
+    public int fastCollinearPointsPointArray() {
+        return new FastCollinearPoints(pointArray).numberOfSegments();
+    }
+
+    @Benchmark
+    public int fastCollinearPointsParallel() {
+        return new FastCollinearPoints(points, threads).numberOfSegments();
+    }
+
+    @Benchmark
+    public int hashCollinearPoints() {
+        return new HashCollinearPoints(points).numberOfSegments();
+    }
+}
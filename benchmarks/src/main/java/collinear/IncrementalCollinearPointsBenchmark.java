@@ -0,0 +1,62 @@
+package collinear;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// a point set that grows in batches, with the segments wanted after every batch
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IncrementalCollinearPointsBenchmark {
+    @Param({"1600", "6400"})
+    private int size;
+
+    @Param({"10"})
+    private int batches;
+
+    private Point[] points;
+
+    @Setup
+    public void setUp() {
+        points = CollinearInputs.points(size, 42);
+    }
+
+    @Benchmark
+    public int rebuildEveryBatch() {
+        int segments = 0;
+        for (int batch = 1; batch <= batches; batch++) {
+            Point[] prefix = Arrays.copyOf(points, size * batch / batches);
+            segments += new FastCollinearPoints(prefix).numberOfSegments();
+        }
+        return segments;
+    }
+
+    @Benchmark
+    public int incremental() {
+        IncrementalCollinearPoints incremental = new IncrementalCollinearPoints();
+        int segments = 0;
+        int added = 0;
+        for (int batch = 1; batch <= batches; batch++) {
+            for (; added < size * batch / batches; added++) {
+                incremental.add(points[added]);
+            }
+            segments += incremental.segments().length;
+        }
+        return segments;
+    }
+}
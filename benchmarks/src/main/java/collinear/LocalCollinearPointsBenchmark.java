@@ -0,0 +1,47 @@
+package collinear;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Same inputs as FastCollinearPointsBenchmark, whose planted lines have consecutive points at most 90 apart, so a
+radius of 128 finds all of them. The grid is fixed at 32768 x 32768, so the neighbors per point grow with size,
+from under 1 at 6400 points to about 5 at 102400 and 20 at 409600; compare the 6400 case with
+fastCollinearPoints there.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalCollinearPointsBenchmark {
+    @Param({"6400", "102400", "409600"})
+    private int size;
+
+    @Param({"128"})
+    private int radius;
+
+    private Point[] points;
+
+    @Setup
+    public void setUp() {
+        points = CollinearInputs.points(size, 42);
+    }
+
+    @Benchmark
+    public int localCollinearPoints() {
+        return new LocalCollinearPoints(points, radius).numberOfSegments();
+    }
+}
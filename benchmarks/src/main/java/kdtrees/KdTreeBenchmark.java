@@ -0,0 +1,78 @@
+package kdtrees;
+
+import edu.princeton.cs.algs4.Point2D;
+import edu.princeton.cs.algs4.RectHV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// uniformly random points in the unit square; queries cycle through a fixed batch of random targets
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KdTreeBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private KdTree tree;
+    private Point2D[] points;
+    private Point2D[] targets;
+    private RectHV[] rects;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        tree = new KdTree();
+        points = new Point2D[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = new Point2D(random.nextDouble(), random.nextDouble());
+            tree.insert(points[i]);
+        }
+        targets = new Point2D[QUERIES];
+        rects = new RectHV[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            targets[i] = new Point2D(random.nextDouble(), random.nextDouble());
+            double x = random.nextDouble(0.99);
+            double y = random.nextDouble(0.99);
+            rects[i] = new RectHV(x, y, x + 0.01, y + 0.01);
+        }
+    }
+
+    @Benchmark
+    public Point2D nearest() {
+        next = (next + 1) & (QUERIES - 1);
+        return tree.nearest(targets[next]);
+    }
+
+    @Benchmark
+    public Iterable<Point2D> range() {
+        next = (next + 1) & (QUERIES - 1);
+        return tree.range(rects[next]);
+    }
+
+    @Benchmark
+    public int insert() {
+        KdTree fresh = new KdTree();
+        for (Point2D point : points) {
+            fresh.insert(point);
+        }
+        return fresh.size();
+    }
+}
@@ -0,0 +1,80 @@
+package maxflowmincut;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// a generated division written to a temporary file, since BaseballElimination only reads from files
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BaseballEliminationBenchmark {
+    @Param({"8", "24", "48"})
+    private int teams;
+
+    private Path file;
+    private BaseballElimination division;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        int[][] against = new int[teams][teams];
+        for (int i = 0; i < teams; i++) {
+            for (int j = i + 1; j < teams; j++) {
+                against[i][j] = random.nextInt(7);
+                against[j][i] = against[i][j];
+            }
+        }
+        StringBuilder sb = new StringBuilder().append(teams).append('\n');
+        for (int i = 0; i < teams; i++) {
+            int remaining = 0;
+            for (int j = 0; j < teams; j++) {
+                remaining += against[i][j];
+            }
+            int wins = random.nextInt(60, 100);
+            int losses = random.nextInt(60, 100);
+            sb.append("Team").append(i).append(' ').append(wins).append(' ').append(losses).append(' ').append(remaining);
+            for (int j = 0; j < teams; j++) {
+                sb.append(' ').append(against[i][j]);
+            }
+            sb.append('\n');
+        }
+        file = Files.createTempFile("division", ".txt");
+        Files.writeString(file, sb.toString());
+        division = new BaseballElimination(file.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int isEliminated() {
+        int eliminated = 0;
+        for (String team : division.teams()) {
+            if (division.isEliminated(team)) {
+                eliminated++;
+            }
+        }
+        return eliminated;
+    }
+}
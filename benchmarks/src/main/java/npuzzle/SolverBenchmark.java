@@ -0,0 +1,70 @@
+package npuzzle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// solvable boards made by random walks of the blank away from the goal
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+    @Param({"3", "4"})
+    private int n;
+
+    @Param({"20", "40"})
+    private int shuffleMoves;
+
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        board = new Board(scrambled(n, shuffleMoves, new SplittableRandom(42)));
+    }
+
+    static int[][] scrambled(int n, int moves, SplittableRandom random) {
+        int[][] tiles = new int[n][n];
+        for (int i = 0; i < n * n - 1; i++) {
+            tiles[i / n][i % n] = i + 1;
+        }
+        int row = n - 1;
+        int col = n - 1;
+        int[][] directions = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        int previous = -1;
+        for (int m = 0; m < moves; ) {
+            int d = random.nextInt(4);
+            int r = row + directions[d][0];
+            int c = col + directions[d][1];
+            // never step straight back, so the walk does not undo itself
+            if (r < 0 || r >= n || c < 0 || c >= n || (d ^ 1) == previous) {
+                continue;
+            }
+            tiles[row][col] = tiles[r][c];
+            tiles[r][c] = 0;
+            row = r;
+            col = c;
+            previous = d;
+            m++;
+        }
+        return tiles;
+    }
+
+    @Benchmark
+    public int solve() {
+        return new Solver(board).moves();
+    }
+}
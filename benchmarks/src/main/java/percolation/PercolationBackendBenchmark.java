@@ -0,0 +1,138 @@
+package percolation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// opens the same shuffled site order until percolation on each grid implementation
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PercolationBackendBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Sites {
+        @Param({"256", "1024", "4096"})
+        int n;
+
+        int[] order;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(42);
+            order = new int[n * n];
+            for (int i = 0; i < order.length; i++) {
+                int j = random.nextInt(i + 1);
+                order[i] = order[j];
+                order[j] = i;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Heap {
+        Percolation percolation;
+
+        @Setup(Level.Invocation)
+        public void setUp(Sites sites) {
+            percolation = new Percolation(sites.n);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Compact {
+        CompactPercolation percolation;
+
+        @Setup(Level.Invocation)
+        public void setUp(Sites sites) {
+            percolation = new CompactPercolation(sites.n);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Lattice {
+        LatticePercolation percolation;
+
+        @Setup(Level.Invocation)
+        public void setUp(Sites sites) {
+            percolation = new LatticePercolation(sites.n, Stencil.SQUARE_4);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Mapped {
+        // on disk rather than java.io.tmpdir, which is often a tmpfs in RAM
+        @Param({"."})
+        String directory;
+
+        MappedPercolation percolation;
+
+        @Setup(Level.Invocation)
+        public void setUp(Sites sites) {
+            percolation = new MappedPercolation(sites.n, Path.of(directory));
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            percolation.close();
+        }
+    }
+
+    @Benchmark
+    public int percolation(Sites sites, Heap heap) {
+        int n = sites.n;
+        int opened = 0;
+        while (!heap.percolation.percolates()) {
+            int site = sites.order[opened++];
+            heap.percolation.open(site / n + 1, site % n + 1);
+        }
+        return opened;
+    }
+
+    @Benchmark
+    public int compactPercolation(Sites sites, Compact compact) {
+        int n = sites.n;
+        int opened = 0;
+        while (!compact.percolation.percolates()) {
+            int site = sites.order[opened++];
+            compact.percolation.open(site / n + 1, site % n + 1);
+        }
+        return opened;
+    }
+
+    @Benchmark
+    public int latticePercolation(Sites sites, Lattice lattice) {
+        int opened = 0;
+        while (!lattice.percolation.percolates()) {
+            lattice.percolation.open(sites.order[opened++]);
+        }
+        return opened;
+    }
+
+    @Benchmark
+    public int mappedPercolation(Sites sites, Mapped mapped) {
+        int n = sites.n;
+        int opened = 0;
+        while (!mapped.percolation.percolates()) {
+            int site = sites.order[opened++];
+            mapped.percolation.open(site / n + 1, site % n + 1);
+        }
+        return opened;
+    }
+}
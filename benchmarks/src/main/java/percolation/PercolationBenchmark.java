@@ -0,0 +1,50 @@
+package percolation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// one full trial per invocation, for every sampler and stencil at roughly n * n sites
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PercolationBenchmark {
+    @Param({"128", "512", "2048"})
+    private int n;
+
+    @Param({"RANDOM_SITES", "SHUFFLED_SITES"})
+    private PercolationStats.Sampler sampler;
+
+    @Param({"SQUARE_4", "SQUARE_8", "CUBIC_6"})
+    private String stencilName;
+
+    private PercolationTrial trial;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        Stencil stencil = Stencil.valueOf(stencilName);
+        int side = (int) Math.round(Math.pow((double) n * n, 1.0 / stencil.dimensions()));
+        trial = new PercolationTrial(side, stencil, sampler);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public double trial() {
+        return trial.run(random.split());
+    }
+}
@@ -0,0 +1,124 @@
+package queues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+One producer hands items to one consumer through BoundedBlockingQueue and through ArrayBlockingQueue, whose
+single lock is shared by both sides. The non-blocking offer and poll are measured so that a thread left waiting
+at the end of an iteration cannot hang the run; the drain group takes items in batches instead of one by one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundedBlockingQueueBenchmark {
+    private static final Integer ITEM = 42;
+    private static final int BATCH = 64;
+
+    @State(Scope.Group)
+    public static class Bounded {
+        @Param({"1024"})
+        int capacity;
+
+        BoundedBlockingQueue<Integer> queue;
+
+        @Setup
+        public void setup() {
+            queue = new BoundedBlockingQueue<>(capacity);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class JdkArray {
+        @Param({"1024"})
+        int capacity;
+
+        ArrayBlockingQueue<Integer> queue;
+
+        @Setup
+        public void setup() {
+            queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        final Integer[] array = new Integer[BATCH];
+        final List<Integer> list = new ArrayList<>(BATCH);
+    }
+
+    @Benchmark
+    @Group("bounded")
+    @GroupThreads(1)
+    public boolean boundedProducer(Bounded state) {
+        return state.queue.offer(ITEM);
+    }
+
+    @Benchmark
+    @Group("bounded")
+    @GroupThreads(1)
+    public Integer boundedConsumer(Bounded state) {
+        return state.queue.poll();
+    }
+
+    @Benchmark
+    @Group("boundedDrain")
+    @GroupThreads(1)
+    public boolean boundedDrainProducer(Bounded state) {
+        return state.queue.offer(ITEM);
+    }
+
+    @Benchmark
+    @Group("boundedDrain")
+    @GroupThreads(1)
+    public int boundedDrainConsumer(Bounded state, Batch batch) {
+        return state.queue.drainTo(batch.array);
+    }
+
+    @Benchmark
+    @Group("arrayBlocking")
+    @GroupThreads(1)
+    public boolean arrayBlockingProducer(JdkArray state) {
+        return state.queue.offer(ITEM);
+    }
+
+    @Benchmark
+    @Group("arrayBlocking")
+    @GroupThreads(1)
+    public Integer arrayBlockingConsumer(JdkArray state) {
+        return state.queue.poll();
+    }
+
+    @Benchmark
+    @Group("arrayBlockingDrain")
+    @GroupThreads(1)
+    public boolean arrayBlockingDrainProducer(JdkArray state) {
+        return state.queue.offer(ITEM);
+    }
+
+    @Benchmark
+    @Group("arrayBlockingDrain")
+    @GroupThreads(1)
+    public int arrayBlockingDrainConsumer(JdkArray state, Batch batch) {
+        batch.list.clear();
+        return state.queue.drainTo(batch.list, BATCH);
+    }
+}
@@ -0,0 +1,55 @@
+package queues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// every thread enqueues and then dequeues one item against a shared pool; run with -t N to scale the thread count
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentRandomizedQueueBenchmark {
+    private static final int PREFILL = 10_000;
+    private static final Integer ITEM = 42;
+
+    private ConcurrentRandomizedQueue<Integer> striped;
+    private RandomizedQueue<Integer> locked;
+
+    @Setup
+    public void setUp() {
+        striped = new ConcurrentRandomizedQueue<>();
+        locked = new RandomizedQueue<>();
+        for (int i = 0; i < PREFILL; i++) {
+            striped.enqueue(i);
+            locked.enqueue(i);
+        }
+    }
+
+    @Benchmark
+    public Integer striped() {
+        striped.enqueue(ITEM);
+        return striped.dequeue();
+    }
+
+    @Benchmark
+    public Integer synchronizedRandomizedQueue() {
+        synchronized (locked) {
+            locked.enqueue(ITEM);
+            return locked.dequeue();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package queues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/*
+Fills the deque from both ends and drains it again, then iterates a filled deque. The same push/pop pattern
+runs on java.util.LinkedList, a node-per-element deque like the previous queues.Deque, and on ArrayDeque.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DequeBenchmark {
+    private static final int CHUNK = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Integer[] items;
+    private Deque<Integer> filled;
+
+    @Setup
+    public void setUp() {
+        items = new Integer[size];
+        filled = new Deque<>();
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+            filled.addLast(items[i]);
+        }
+    }
+
+    @Benchmark
+    public int pushPop() {
+        Deque<Integer> deque = new Deque<>();
+        for (int i = 0; i < size; i += 2) {
+            deque.addFirst(items[i]);
+            deque.addLast(items[i]);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+            if (!deque.isEmpty()) {
+                sum += deque.removeLast();
+            }
+        }
+        return sum;
+    }
+
+    // the pipeline pattern: enqueue and drain in chunks, one element at a time versus with the bulk calls
+    @Benchmark
+    public int chunkedSingle() {
+        Deque<Integer> deque = new Deque<>();
+        int sum = 0;
+        for (int off = 0; off < size; off += CHUNK) {
+            int len = Math.min(CHUNK, size - off);
+            for (int i = off; i < off + len; i++) {
+                deque.addLast(items[i]);
+            }
+            for (int i = 0; i < len; i++) {
+                sum += deque.removeFirst();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int chunkedBulk() {
+        Deque<Integer> deque = new Deque<>();
+        Integer[] out = new Integer[CHUNK];
+        int sum = 0;
+        for (int off = 0; off < size; off += CHUNK) {
+            deque.addAllLast(items, off, Math.min(CHUNK, size - off));
+            int drained = deque.drainTo(out);
+            for (int i = 0; i < drained; i++) {
+                sum += out[i];
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int pushPopLinkedList() {
+        LinkedList<Integer> deque = new LinkedList<>();
+        for (int i = 0; i < size; i += 2) {
+            deque.addFirst(items[i]);
+            deque.addLast(items[i]);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+            if (!deque.isEmpty()) {
+                sum += deque.removeLast();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int pushPopArrayDeque() {
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+        for (int i = 0; i < size; i += 2) {
+            deque.addFirst(items[i]);
+            deque.addLast(items[i]);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+            if (!deque.isEmpty()) {
+                sum += deque.removeLast();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int pushPopIntDeque() {
+        IntDeque deque = new IntDeque();
+        for (int i = 0; i < size; i += 2) {
+            deque.addFirst(i);
+            deque.addLast(i);
+        }
+        int sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+            if (!deque.isEmpty()) {
+                sum += deque.removeLast();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int iterate() {
+        int sum = 0;
+        for (int item : filled) {
+            sum += item;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,130 @@
+package queues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RandomizedQueueBenchmark {
+    private static final int CHUNK = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Integer[] items;
+    private RandomizedQueue<Integer> filled;
+
+    @Setup
+    public void setUp() {
+        items = new Integer[size];
+        filled = new RandomizedQueue<>();
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+            filled.enqueue(items[i]);
+        }
+    }
+
+    @Benchmark
+    public int enqueueDequeue() {
+        RandomizedQueue<Integer> queue = new RandomizedQueue<>();
+        for (Integer item : items) {
+            queue.enqueue(item);
+        }
+        int sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.dequeue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int enqueueDequeueInt() {
+        IntRandomizedQueue queue = new IntRandomizedQueue();
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(i);
+        }
+        int sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.dequeue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int enqueueDequeueBulk() {
+        RandomizedQueue<Integer> queue = new RandomizedQueue<>();
+        queue.enqueueAll(items, 0, size);
+        int sum = 0;
+        while (!queue.isEmpty()) {
+            for (int item : queue.dequeue(Math.min(CHUNK, queue.size()))) {
+                sum += item;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int enqueueDrainBulk() {
+        RandomizedQueue<Integer> queue = new RandomizedQueue<>();
+        queue.enqueueAll(items, 0, size);
+        Integer[] chunk = new Integer[CHUNK];
+        int sum = 0;
+        for (int drained = queue.drainTo(chunk); drained > 0; drained = queue.drainTo(chunk)) {
+            for (int i = 0; i < drained; i++) {
+                sum += chunk[i];
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int sampleChunkSingle() {
+        int sum = 0;
+        for (int i = 0; i < CHUNK; i++) {
+            sum += filled.sample();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int sampleChunkBulk() {
+        int sum = 0;
+        for (int item : filled.sample(Math.min(CHUNK, size))) {
+            sum += item;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int sample() {
+        return filled.sample();
+    }
+
+    @Benchmark
+    public int iterateFirstTen() {
+        int sum = 0;
+        int taken = 0;
+        for (int item : filled) {
+            sum += item;
+            if (++taken == 10) {
+                break;
+            }
+        }
+        return sum;
+    }
+}
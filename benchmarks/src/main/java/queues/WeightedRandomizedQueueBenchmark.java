@@ -0,0 +1,97 @@
+package queues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+Weighted picks from WeightedRandomizedQueue against the obvious alternative: keep the weights in an array and
+scan it until the running sum passes a uniform draw. The queue is O(log n) per operation where the scan is O(n).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeightedRandomizedQueueBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private WeightedRandomizedQueue<Integer> queue;
+    private int[] handles;
+    private double[] weights;
+    private double totalWeight;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        queue = new WeightedRandomizedQueue<>();
+        handles = new int[size];
+        weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1.0 + random.nextDouble(100.0);
+            totalWeight += weights[i];
+            handles[i] = queue.enqueue(i, weights[i]);
+        }
+    }
+
+    @Benchmark
+    public Integer sample() {
+        return queue.sample();
+    }
+
+    @Benchmark
+    public int sampleLinearScan() {
+        return linearScan(random.nextDouble() * totalWeight);
+    }
+
+    // a load balancer reweighs a server and then picks the next one
+    @Benchmark
+    public Integer updateAndSample() {
+        int i = random.nextInt(size);
+        queue.updateWeight(handles[i], 1.0 + random.nextDouble(100.0));
+        return queue.sample();
+    }
+
+    @Benchmark
+    public int updateAndSampleLinearScan() {
+        int i = random.nextInt(size);
+        double weight = 1.0 + random.nextDouble(100.0);
+        totalWeight += weight - weights[i];
+        weights[i] = weight;
+        return linearScan(random.nextDouble() * totalWeight);
+    }
+
+    // keeps the size steady so every invocation sees the same queue
+    @Benchmark
+    public int dequeueEnqueue() {
+        Integer item = queue.dequeue();
+        int handle = queue.enqueue(item, weights[item]);
+        handles[item] = handle;
+        return handle;
+    }
+
+    private int linearScan(double target) {
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            if (sum > target) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
@@ -0,0 +1,81 @@
+package queues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+One owner thread adds and removes at the tail while thieves take from the head, once on WorkStealingDeque and
+once on a Deque guarded by a lock, as it is shared today. The thief count is 3 by default; run with
+-tg 1,N to measure how throughput scales with N.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkStealingDequeBenchmark {
+    // the owner keeps the deque around this size so thieves rarely find it empty
+    private static final int BACKLOG = 1024;
+    private static final Integer ITEM = 42;
+
+    @State(Scope.Group)
+    public static class LockFree {
+        final WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+    }
+
+    @State(Scope.Group)
+    public static class Locked {
+        final Deque<Integer> deque = new Deque<>();
+    }
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(1)
+    public Integer workStealingOwner(LockFree state) {
+        if (state.deque.size() < BACKLOG) {
+            state.deque.addLast(ITEM);
+            state.deque.addLast(ITEM);
+        }
+        return state.deque.removeLast();
+    }
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(3)
+    public Integer workStealingThief(LockFree state) {
+        return state.deque.removeFirst();
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    @GroupThreads(1)
+    public Integer synchronizedOwner(Locked state) {
+        synchronized (state.deque) {
+            if (state.deque.size() < BACKLOG) {
+                state.deque.addLast(ITEM);
+                state.deque.addLast(ITEM);
+            }
+            return state.deque.isEmpty() ? null : state.deque.removeLast();
+        }
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    @GroupThreads(3)
+    public Integer synchronizedThief(Locked state) {
+        synchronized (state.deque) {
+            return state.deque.isEmpty() ? null : state.deque.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package seam;
+
+import edu.princeton.cs.algs4.Picture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// noisy gradient pictures, so energies vary smoothly with some local texture like a photograph
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeamCarverBenchmark {
+    @Param({"256", "1024", "2048"})
+    private int width;
+
+    private Picture picture;
+    private SeamCarver carver;
+
+    @Setup
+    public void setUp() {
+        int height = width * 3 / 4;
+        SplittableRandom random = new SplittableRandom(42);
+        picture = new Picture(width, height);
+        for (int col = 0; col < width; col++) {
+            for (int row = 0; row < height; row++) {
+                int r = (col * 255 / width + random.nextInt(32)) & 0xff;
+                int g = (row * 255 / height + random.nextInt(32)) & 0xff;
+                int b = random.nextInt(256);
+                picture.setARGB(col, row, 0xff000000 | r << 16 | g << 8 | b);
+            }
+        }
+        carver = new SeamCarver(picture);
+    }
+
+    @Benchmark
+    public int[] findVerticalSeam() {
+        return carver.findVerticalSeam();
+    }
+
+    @Benchmark
+    public int[] findHorizontalSeam() {
+        return carver.findHorizontalSeam();
+    }
+
+    @Benchmark
+    public int removeVerticalSeam() {
+        SeamCarver fresh = new SeamCarver(picture);
+        fresh.removeVerticalSeam(fresh.findVerticalSeam());
+        return fresh.width();
+    }
+}
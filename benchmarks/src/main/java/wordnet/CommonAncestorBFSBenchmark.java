@@ -0,0 +1,69 @@
+package wordnet;
+
+import edu.princeton.cs.algs4.Digraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// WordNet-like rooted DAGs: every synset but the root has one or two hypernyms with a smaller id
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommonAncestorBFSBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({"10000", "100000"})
+    private int vertices;
+
+    private CommonAncestorBFS bfs;
+    private List<List<Integer>> vs;
+    private List<List<Integer>> ws;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Digraph digraph = new Digraph(vertices);
+        for (int v = 1; v < vertices; v++) {
+            digraph.addEdge(v, random.nextInt(v));
+            if (v > 1 && random.nextInt(10) == 0) {
+                digraph.addEdge(v, random.nextInt(v));
+            }
+        }
+        bfs = new CommonAncestorBFS(digraph);
+        vs = new ArrayList<>();
+        ws = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            vs.add(List.of(random.nextInt(vertices), random.nextInt(vertices)));
+            ws.add(List.of(random.nextInt(vertices)));
+        }
+    }
+
+    @Benchmark
+    public int getCommonAncestor() {
+        next = (next + 1) & (QUERIES - 1);
+        return bfs.getCommonAncestor(vs.get(next), ws.get(next));
+    }
+
+    @Benchmark
+    public int getLengthCommonAncestor() {
+        next = (next + 1) & (QUERIES - 1);
+        return bfs.getLengthCommonAncestor(vs.get(next), ws.get(next));
+    }
+}
@@ -1,20 +1,12 @@
 package collinear;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public class BruteCollinearPoints {
     private final LineSegment[] segments;
     public BruteCollinearPoints(Point[] points) {
-        if (points == null || hasNull(points)) {
-            throw new IllegalArgumentException("Array and individual points cannot be null");
-        }
-        Point[] pointsCopy = points.clone();
-        Arrays.sort(pointsCopy);
-        if (hasRepeatedPoint(pointsCopy)) {
-            throw new IllegalArgumentException("Points cannot be repeated");
-        }
+        Point[] pointsCopy = Point.validate(points);
         List<LineSegment> segs = new ArrayList<>();
         for (int p = 0; p < pointsCopy.length - 3; p++) {
             for (int q = p + 1; q < pointsCopy.length; q++) {
@@ -34,24 +26,6 @@ public class BruteCollinearPoints {
         segments = segs.toArray(new LineSegment[0]);
     }
 
-    private boolean hasNull(Point[] points) {
-        for (Point p : points) {
-            if (p == null) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean hasRepeatedPoint(Point[] points) {
-        for (int i = 0; i < points.length - 1; i++) {
-            if (points[i].compareTo(points[i+1]) == 0) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     public int numberOfSegments() {
         return segments.length;
     }
@@ -1,50 +1,243 @@
 package collinear;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class FastCollinearPoints {
+    private static final int LEAF_ORIGINS = 32;
+
     private final LineSegment[] segments;
     public FastCollinearPoints(Point[] points) {
-        List<LineSegment> segs = new ArrayList<>();
-        for (Point p : points) {
-            Point[] pointsCopy = points.clone();
-            Arrays.sort(pointsCopy, p.slopeOrder());
-            for (int first = 1, last = 2; last < pointsCopy.length;) {
-                int ocurrences = 0;
-                double slope = p.slopeTo(pointsCopy[first]);
-                while (last < pointsCopy.length && Double.compare(slope, p.slopeTo(pointsCopy[last])) == 0) {
+        this(points, 1);
+    }
+
+    public FastCollinearPoints(Point[] points, int threads) {
+        this(PointArray.of(points), threads, points);
+    }
+
+    public FastCollinearPoints(PointArray points) {
+        this(points, 1);
+    }
+
+    public FastCollinearPoints(PointArray points, int threads) {
+        this(points, threads, null);
+    }
+
+    /*
+    Origins are independent and the dedup rule gives every segment exactly one owning origin, so with more than
+    one thread the origins are split into ranges on a fork-join pool. Each range collects its own segments and
+    ranges are concatenated left to right, which gives the same segments in the same order as one thread.
+    Segments are collected as pairs of indices; LineSegments are only built once all of them are known, from
+    the caller's Point objects when there are any.
+     */
+    private FastCollinearPoints(PointArray points, int threads, Point[] originals) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be greater than 0");
+        }
+        Segments found;
+        if (threads == 1) {
+            found = new Segments();
+            findSegments(points, 0, points.size(), new Scratch(points.size()), found);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                found = pool.invoke(new Origins(points, 0, points.size(), new ThreadLocal<>()));
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        segments = new LineSegment[found.size];
+        for (int s = 0; s < found.size; s++) {
+            int from = found.ends[2 * s];
+            int to = found.ends[2 * s + 1];
+            segments[s] = originals != null
+                    ? new LineSegment(originals[from], originals[to])
+                    : new LineSegment(points.point(from), points.point(to));
+        }
+    }
+
+    // per-worker buffers for the slopes from one origin and the indices of the points they belong to
+    private static class Scratch {
+        private final double[] slopes;
+        private final int[] others;
+
+        Scratch(int n) {
+            slopes = new double[Math.max(n - 1, 0)];
+            others = new int[slopes.length];
+        }
+    }
+
+    // growable list of segments as pairs of point indices
+    private static class Segments {
+        private int[] ends = new int[16];
+        private int size;
+
+        void add(int from, int to) {
+            if (2 * size == ends.length) {
+                ends = Arrays.copyOf(ends, 2 * ends.length);
+            }
+            ends[2 * size] = from;
+            ends[2 * size + 1] = to;
+            size++;
+        }
+
+        void addAll(Segments that) {
+            if (2 * (size + that.size) > ends.length) {
+                ends = Arrays.copyOf(ends, Math.max(2 * ends.length, 2 * (size + that.size)));
+            }
+            System.arraycopy(that.ends, 0, ends, 2 * size, 2 * that.size);
+            size += that.size;
+        }
+    }
+
+    private static class Origins extends RecursiveTask<Segments> {
+        private final PointArray points;
+        private final int lo;
+        private final int hi;
+        private final ThreadLocal<Scratch> buffers;
+
+        Origins(PointArray points, int lo, int hi, ThreadLocal<Scratch> buffers) {
+            this.points = points;
+            this.lo = lo;
+            this.hi = hi;
+            this.buffers = buffers;
+        }
+
+        @Override
+        protected Segments compute() {
+            if (hi - lo > LEAF_ORIGINS) {
+                int mid = (lo + hi) >>> 1;
+                Origins left = new Origins(points, lo, mid, buffers);
+                left.fork();
+                Segments right = new Origins(points, mid, hi, buffers).compute();
+                Segments found = left.join();
+                found.addAll(right);
+                return found;
+            }
+            Scratch scratch = buffers.get();
+            if (scratch == null) {
+                scratch = new Scratch(points.size());
+                buffers.set(scratch);
+            }
+            Segments found = new Segments();
+            findSegments(points, lo, hi, scratch, found);
+            return found;
+        }
+    }
+
+    /*
+    The slopes from the current origin are computed once per point rather than twice per comparison and
+    sorted as primitives, carrying along the index of the point each belongs to. Equal slopes always give
+    the same double, but very large coordinates can make different slopes round to the same one, so every
+    run of equal doubles is split again with the exact compareSlopes before it counts as a line.
+     */
+    private static void findSegments(PointArray points, int lo, int hi, Scratch scratch, Segments found) {
+        double[] slopes = scratch.slopes;
+        int[] others = scratch.others;
+        int n = points.size();
+        for (int p = lo; p < hi; p++) {
+            int m = 0;
+            for (int q = 0; q < n; q++) {
+                if (q != p) {
+                    slopes[m] = points.slope(p, q);
+                    others[m++] = q;
+                }
+            }
+            sort(slopes, others, 0, m - 1);
+            for (int first = 0, last = 1; first < m; first = last++) {
+                while (last < m && slopes[last] == slopes[first]) {
                     last++;
-                    ocurrences++;
                 }
-                if (ocurrences >= 2) {
-                    Point[] segment = getPoints(pointsCopy, p, first, last);
-                    /*
-                    This line ensures only a single segment will be added and no repeats.
-                    The logic behind is that repeated segments will all have the same natural order sort by sorting
-                    these repeated points. Since the slope order sort will go through all the points, only one permutation
-                    of these points will begin with p as origin which ensures a single addition of the set of segments.
-                     */
-                    if (segment[0].compareTo(p) == 0) {
-                        segs.add(new LineSegment(segment[0], segment[1]));
+                if (last - first < 3) {
+                    continue;
+                }
+                sortExactly(points, p, others, first, last);
+                for (int from = first, to = first + 1; from < last; from = to++) {
+                    while (to < last && points.compareSlopes(p, others[from], others[to]) == 0) {
+                        to++;
+                    }
+                    if (to - from >= 3) {
+                        addSegment(found, points, p, others, from, to);
                     }
                 }
-                first = last++;
             }
         }
-        segments = segs.toArray(new LineSegment[0]);
     }
 
-    private Point[] getPoints(Point[] points, Point p, int start, int last) {
-        List<Point> res = new ArrayList<>();
-        res.add(p);
-        for (int i = start; i < last; i++) {
-            res.add(points[i]);
+    private static void addSegment(Segments found, PointArray points, int p, int[] others, int from, int to) {
+        int min = p;
+        int max = p;
+        for (int k = from; k < to; k++) {
+            int q = others[k];
+            if (points.compare(q, min) < 0) {
+                min = q;
+            }
+            if (points.compare(q, max) > 0) {
+                max = q;
+            }
+        }
+        /*
+        This line ensures only a single segment will be added and no repeats.
+        The logic behind is that repeated segments will all have the same natural order sort by sorting
+        these repeated points. Since the slope order sort will go through all the points, only one permutation
+        of these points will begin with p as origin which ensures a single addition of the set of segments.
+         */
+        if (points.compare(min, p) == 0) {
+            found.add(min, max);
+        }
+    }
+
+    // 3-way quicksort of keys[lo..hi] that moves the matching entries of values along
+    private static void sort(double[] keys, int[] values, int lo, int hi) {
+        while (hi - lo >= 16) {
+            double pivot = keys[lo + (hi - lo) / 2];
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (keys[i] < pivot) {
+                    swap(keys, values, lt++, i++);
+                } else if (keys[i] > pivot) {
+                    swap(keys, values, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            // recurse into the smaller side so the stack stays O(log n)
+            if (lt - lo < hi - gt) {
+                sort(keys, values, lo, lt - 1);
+                lo = gt + 1;
+            } else {
+                sort(keys, values, gt + 1, hi);
+                hi = lt - 1;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && keys[j] < keys[j - 1]; j--) {
+                swap(keys, values, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(double[] keys, int[] values, int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    // insertion sort of a run whose doubles tie; it is almost always one exact slope already, which costs one pass
+    private static void sortExactly(PointArray points, int origin, int[] others, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && points.compareSlopes(origin, others[j - 1], others[j]) > 0; j--) {
+                int swap = others[j];
+                others[j] = others[j - 1];
+                others[j - 1] = swap;
+            }
         }
-        Point[] segment = res.toArray(new Point[0]);
-        Arrays.sort(segment);
-        return new Point[] {segment[0], segment[segment.length - 1]};
     }
 
     public int numberOfSegments() {
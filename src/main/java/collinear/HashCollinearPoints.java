@@ -0,0 +1,129 @@
+package collinear;
+
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+Finds the same segments as FastCollinearPoints, in the same order, in O(n^2) expected time instead of
+O(n^2 log n). Rather than sorting a copy of the points by slope for every origin, it groups the other points by
+their exact slope in a SlopeTable and keeps, per group, the number of points, the largest one and whether
+any of them is smaller than the origin. A group of 3 or more points with none smaller than the origin is a
+segment owned by that origin, which is the same dedup rule FastCollinearPoints applies after sorting.
+ */
+public class HashCollinearPoints {
+    private final LineSegment[] segments;
+
+    public HashCollinearPoints(Point[] points) {
+        Point.validate(points);
+        int n = points.length;
+        SlopeTable table = new SlopeTable(n);
+        int[] counts = new int[n];
+        int[] largest = new int[n];
+        boolean[] owned = new boolean[n];
+        int[] found = new int[n];
+        List<LineSegment> segs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Point p = points[i];
+            table.clear();
+            for (int j = 0; j < n; j++) {
+                if (j == i) {
+                    continue;
+                }
+                Point q = points[j];
+                int groups = table.size();
+                int g = table.groupOf((long) q.x() - p.x(), (long) q.y() - p.y());
+                if (g == groups) {
+                    counts[g] = 0;
+                    largest[g] = j;
+                    owned[g] = true;
+                }
+                counts[g]++;
+                if (q.compareTo(points[largest[g]]) > 0) {
+                    largest[g] = j;
+                }
+                if (q.compareTo(p) < 0) {
+                    owned[g] = false;
+                }
+            }
+            int segmentCount = 0;
+            for (int g = 0; g < table.size(); g++) {
+                if (counts[g] >= 3 && owned[g]) {
+                    found[segmentCount++] = g;
+                }
+            }
+            // FastCollinearPoints reports an origin's segments by increasing slope; there are only ever a few
+            for (int a = 1; a < segmentCount; a++) {
+                for (int b = a; b > 0 && table.compareSlopes(found[b - 1], found[b]) > 0; b--) {
+                    int swap = found[b];
+                    found[b] = found[b - 1];
+                    found[b - 1] = swap;
+                }
+            }
+            for (int s = 0; s < segmentCount; s++) {
+                segs.add(new LineSegment(p, points[largest[found[s]]]));
+            }
+        }
+        segments = segs.toArray(new LineSegment[0]);
+    }
+
+    public int numberOfSegments() {
+        return segments.length;
+    }
+
+    public LineSegment[] segments() {
+        return segments.clone();
+    }
+
+    /*
+    Random points on a 32768 x 32768 grid with some planted lines, checked against FastCollinearPoints, then the
+    same points stretched over the whole int range, where the deltas between points no longer fit in an int.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int bound = 32768;
+        List<Point> points = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        while (points.size() < n / 5) {
+            int x = StdRandom.uniformInt(bound / 2);
+            int y = StdRandom.uniformInt(bound / 2);
+            int dx = StdRandom.uniformInt(1, 64);
+            int dy = StdRandom.uniformInt(-63, 64);
+            int length = 4 + StdRandom.uniformInt(5);
+            for (int i = 0; i < length; i++) {
+                int px = x + i * dx;
+                int py = y + i * dy;
+                if (py >= 0 && py < bound && seen.add((long) px << 32 | py)) {
+                    points.add(new Point(px, py));
+                }
+            }
+        }
+        while (points.size() < n) {
+            int x = StdRandom.uniformInt(bound);
+            int y = StdRandom.uniformInt(bound);
+            if (seen.add((long) x << 32 | y)) {
+                points.add(new Point(x, y));
+            }
+        }
+        Point[] input = points.toArray(new Point[0]);
+        LineSegment[] expected = new FastCollinearPoints(input).segments();
+        LineSegment[] actual = new HashCollinearPoints(input).segments();
+        StdOut.println("points = " + input.length + ", segments = " + actual.length);
+        StdOut.println("same segments in the same order as FastCollinearPoints: "
+                + Arrays.toString(expected).equals(Arrays.toString(actual)));
+
+        Point[] stretched = new Point[input.length];
+        for (int i = 0; i < input.length; i++) {
+            stretched[i] = new Point(input[i].x() * 131072 + Integer.MIN_VALUE, input[i].y() * 131072 + Integer.MIN_VALUE);
+        }
+        expected = new FastCollinearPoints(stretched).segments();
+        actual = new HashCollinearPoints(stretched).segments();
+        StdOut.println("same segments over the whole int range: "
+                + Arrays.toString(expected).equals(Arrays.toString(actual)));
+    }
+}
@@ -0,0 +1,195 @@
+package collinear;
+
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+Keeps the segments of 4 or more collinear points up to date while points are added one at a time, instead of
+running a batch detector again over the whole set after every batch.
+
+A new point p can only create or extend segments on lines through p. add groups the existing points by their
+exact slope from p in a SlopeTable, the way HashCollinearPoints does for one origin, so it costs O(n)
+expected time. Every group of 3 or more points is a line that now holds at least 4, and its segment runs from
+the smallest to the largest of the group and p. Lines are identified by their direction and by c = dy*x - dx*y,
+which is the same for every point on the line, so a line that was already a segment has its endpoints moved
+instead of getting a second one. Deltas are taken in long, so any int coordinates work, and c fits in a long too:
+a line only gets one once it holds 4 points, so its reduced direction is at most (2^32 - 1) / 3 per component.
+
+segments() returns the same segments as the batch detectors, in the order their lines first reached 4 points.
+ */
+public class IncrementalCollinearPoints {
+    private final PointArray points = new PointArray();
+    private final List<Point> originals = new ArrayList<>();
+    private final SlopeTable table = new SlopeTable(16);
+    private final Map<Line, Integer> lines = new HashMap<>();
+    private int[] ends = new int[16];
+    private int segmentCount;
+    private LineSegment[] segments;
+
+    private int[] counts = new int[16];
+    private int[] smallest = new int[16];
+    private int[] largest = new int[16];
+
+    private static final class Line {
+        private final long dx;
+        private final long dy;
+        private final long c;
+
+        Line(long dx, long dy, long c) {
+            this.dx = dx;
+            this.dy = dy;
+            this.c = c;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Line)) {
+                return false;
+            }
+            Line that = (Line) other;
+            return dx == that.dx && dy == that.dy && c == that.c;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode((dx * 31 + dy) * 31 + c);
+        }
+    }
+
+    public void add(Point point) {
+        if (point == null) {
+            throw new IllegalArgumentException("Point cannot be null");
+        }
+        int n = points.size();
+        if (counts.length < n) {
+            counts = Arrays.copyOf(counts, 2 * n);
+            smallest = Arrays.copyOf(smallest, 2 * n);
+            largest = Arrays.copyOf(largest, 2 * n);
+        }
+        int px = point.x();
+        int py = point.y();
+        table.clear();
+        for (int q = 0; q < n; q++) {
+            long dx = (long) points.x(q) - px;
+            long dy = (long) points.y(q) - py;
+            if (dx == 0 && dy == 0) {
+                throw new IllegalArgumentException("Points cannot be repeated");
+            }
+            int groups = table.size();
+            int g = table.groupOf(dx, dy);
+            if (g == groups) {
+                counts[g] = 0;
+                smallest[g] = q;
+                largest[g] = q;
+            }
+            counts[g]++;
+            if (points.compare(q, smallest[g]) < 0) {
+                smallest[g] = q;
+            }
+            if (points.compare(q, largest[g]) > 0) {
+                largest[g] = q;
+            }
+        }
+
+        int p = n;
+        points.add(px, py);
+        originals.add(point);
+        for (int g = 0; g < table.size(); g++) {
+            if (counts[g] < 3) {
+                continue;
+            }
+            int min = points.compare(p, smallest[g]) < 0 ? p : smallest[g];
+            int max = points.compare(p, largest[g]) > 0 ? p : largest[g];
+            table.reduce(g);
+            long dx = table.dxOf(g);
+            long dy = table.dyOf(g);
+            Line line = new Line(dx, dy, dy * px - dx * py);
+            Integer segment = lines.get(line);
+            if (segment == null) {
+                segment = segmentCount++;
+                lines.put(line, segment);
+                if (ends.length < 2 * segmentCount) {
+                    ends = Arrays.copyOf(ends, 2 * ends.length);
+                }
+            }
+            ends[2 * segment] = min;
+            ends[2 * segment + 1] = max;
+            segments = null;
+        }
+    }
+
+    public int numberOfPoints() {
+        return points.size();
+    }
+
+    public int numberOfSegments() {
+        return segmentCount;
+    }
+
+    public LineSegment[] segments() {
+        if (segments == null) {
+            segments = new LineSegment[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                segments[s] = new LineSegment(originals.get(ends[2 * s]), originals.get(ends[2 * s + 1]));
+            }
+        }
+        return segments.clone();
+    }
+
+    /*
+    Adds random points in batches and compares the segments after each batch with FastCollinearPoints, first on a
+    bound x bound grid and then with the same grid stretched over the whole int range, where the deltas no
+    longer fit in an int.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int batches = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int bound = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        boolean same = check(n, batches, bound, 1, 0);
+        same &= check(n, batches, bound, (1L << 32) / bound, Integer.MIN_VALUE);
+        StdOut.println("all batches match: " + same);
+        if (!same) {
+            throw new AssertionError("IncrementalCollinearPoints disagrees with FastCollinearPoints");
+        }
+    }
+
+    private static boolean check(int n, int batches, int bound, long scale, int offset) {
+        IncrementalCollinearPoints incremental = new IncrementalCollinearPoints();
+        List<Point> added = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        boolean same = true;
+        for (int batch = 1; batch <= batches; batch++) {
+            while (added.size() < (long) n * batch / batches) {
+                int x = StdRandom.uniformInt(bound);
+                int y = StdRandom.uniformInt(bound);
+                if (seen.add((long) x << 32 | y)) {
+                    Point point = new Point((int) (x * scale + offset), (int) (y * scale + offset));
+                    added.add(point);
+                    incremental.add(point);
+                }
+            }
+            Set<String> expected = asStrings(new FastCollinearPoints(added.toArray(new Point[0])).segments());
+            Set<String> actual = asStrings(incremental.segments());
+            StdOut.println("points = " + added.size() + ", scale = " + scale + ", segments = " + actual.size()
+                    + ", same as FastCollinearPoints: " + expected.equals(actual));
+            same &= expected.equals(actual);
+        }
+        return same;
+    }
+
+    private static Set<String> asStrings(LineSegment[] segments) {
+        Set<String> strings = new HashSet<>();
+        for (LineSegment segment : segments) {
+            strings.add(segment.toString());
+        }
+        return strings;
+    }
+}
@@ -15,6 +15,14 @@ public class LineSegment {
         this.q = q;
     }
 
+    Point p() {
+        return p;
+    }
+
+    Point q() {
+        return q;
+    }
+
     public void draw() {
         p.drawTo(q);
     }
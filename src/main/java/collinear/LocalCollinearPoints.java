@@ -0,0 +1,314 @@
+package collinear;
+
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+Finds runs of 4 or more collinear points in which every point is within radius of the next one along the line,
+looking only at pairs of points that close together. With radius at least the diameter of the point set every
+line is a single run and the result is exactly that of FastCollinearPoints, in the same order; with a smaller
+radius a line is cut wherever consecutive points are farther apart than radius, and only the pieces with 4 or
+more points are reported.
+
+Points are bucketed into a uniform grid of radius-sized cells, so the points within radius of a point are all
+in the 3 x 3 cells around its own. Cells are hashed into about n buckets rather than laid out over the bounding
+box, which keeps memory at O(n) however sparse the points are. For every point p the neighbors are grouped by
+exact slope in a SlopeTable, and each line through p records the nearest neighbor ahead of p on it (the
+next point of the run) and whether there is one behind it (then p does not start a run). Runs are then
+followed from their first points through those links. With k neighbors per point on average the whole
+detection is O(n k log k) time and O(n k) memory instead of the O(n^2 log n) of comparing every pair.
+ */
+public class LocalCollinearPoints {
+    private final LineSegment[] segments;
+
+    public LocalCollinearPoints(Point[] points, int radius) {
+        Point.validate(points);
+        if (radius <= 0) {
+            throw new IllegalArgumentException("radius must be greater than 0");
+        }
+        PointArray array = PointArray.of(points);
+        int n = array.size();
+
+        // counting sort of the points by the hash bucket of their cell
+        int[] cellX = new int[n];
+        int[] cellY = new int[n];
+        int buckets = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        int[] bucketStart = new int[buckets + 1];
+        for (int i = 0; i < n; i++) {
+            cellX[i] = Math.floorDiv(array.x(i), radius);
+            cellY[i] = Math.floorDiv(array.y(i), radius);
+            bucketStart[bucket(cellX[i], cellY[i], buckets) + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] bucketPoints = new int[n];
+        int[] fill = Arrays.copyOf(bucketStart, buckets);
+        for (int i = 0; i < n; i++) {
+            bucketPoints[fill[bucket(cellX[i], cellY[i], buckets)]++] = i;
+        }
+
+        Links links = new Links(n);
+        SlopeTable table = new SlopeTable(16);
+        int[] nearest = new int[16];
+        boolean[] behind = new boolean[16];
+        long r2 = (long) radius * radius;
+        for (int p = 0; p < n; p++) {
+            table.clear();
+            // long so the cells around one at the edge of the int range do not wrap into an empty loop
+            for (long x = cellX[p] - 1L; x <= cellX[p] + 1L; x++) {
+                for (long y = cellY[p] - 1L; y <= cellY[p] + 1L; y++) {
+                    int cx = (int) x;
+                    int cy = (int) y;
+                    int b = bucket(cx, cy, buckets);
+                    for (int k = bucketStart[b]; k < bucketStart[b + 1]; k++) {
+                        int q = bucketPoints[k];
+                        if (q == p || cellX[q] != cx || cellY[q] != cy) {
+                            continue;
+                        }
+                        /*
+                        Neighboring cells allow deltas up to 2 * radius, so each axis is checked on its own first:
+                        squaring is then safe in a long, and what passes fits the int key of Links.
+                         */
+                        long dx = (long) array.x(q) - array.x(p);
+                        long dy = (long) array.y(q) - array.y(p);
+                        if (Math.abs(dx) > radius || Math.abs(dy) > radius || dx * dx + dy * dy > r2) {
+                            continue;
+                        }
+                        int groups = table.size();
+                        int g = table.groupOf(dx, dy);
+                        if (g == groups) {
+                            if (g == nearest.length) {
+                                nearest = Arrays.copyOf(nearest, 2 * g);
+                                behind = Arrays.copyOf(behind, 2 * g);
+                            }
+                            nearest[g] = -1;
+                            behind[g] = false;
+                        }
+                        if (array.compare(q, p) < 0) {
+                            behind[g] = true;
+                        } else if (nearest[g] < 0 || array.compare(q, nearest[g]) < 0) {
+                            nearest[g] = q;
+                        }
+                    }
+                }
+            }
+            links.first[p] = links.size;
+            for (int g = 0; g < table.size(); g++) {
+                if (nearest[g] >= 0) {
+                    table.reduce(g);
+                    links.add(key(table.dxOf(g), table.dyOf(g)), nearest[g], !behind[g]);
+                }
+            }
+            links.sort(links.first[p], links.size);
+        }
+        links.first[n] = links.size;
+
+        List<LineSegment> segs = new ArrayList<>();
+        long[] found = new long[16];
+        int[] ends = new int[16];
+        for (int p = 0; p < n; p++) {
+            int count = 0;
+            for (int l = links.first[p]; l < links.first[p + 1]; l++) {
+                if (!links.starts[l]) {
+                    continue;
+                }
+                int length = 2;
+                int end = links.next[l];
+                for (int next = links.find(end, links.keys[l]); next >= 0; next = links.find(end, links.keys[l])) {
+                    end = links.next[next];
+                    length++;
+                }
+                if (length >= 4) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, 2 * count);
+                        ends = Arrays.copyOf(ends, 2 * count);
+                    }
+                    found[count] = links.keys[l];
+                    ends[count++] = end;
+                }
+            }
+            // same order as FastCollinearPoints: by increasing slope for each origin
+            for (int a = 1; a < count; a++) {
+                for (int b = a; b > 0 && compareSlopes(found[b - 1], found[b]) > 0; b--) {
+                    long key = found[b];
+                    found[b] = found[b - 1];
+                    found[b - 1] = key;
+                    int end = ends[b];
+                    ends[b] = ends[b - 1];
+                    ends[b - 1] = end;
+                }
+            }
+            for (int s = 0; s < count; s++) {
+                segs.add(new LineSegment(points[p], points[ends[s]]));
+            }
+        }
+        segments = segs.toArray(new LineSegment[0]);
+    }
+
+    /*
+    Packs a reduced direction into one long that sorts Links by direction. Both components are within radius, so
+    they fit in an int: dx >= 0 goes in the high half and dy, two's complement, in the low one. Nothing is
+    negated here, so Integer.MIN_VALUE never arises.
+     */
+    private static long key(long dx, long dy) {
+        return dx << 32 | (dy & 0xffffffffL);
+    }
+
+    private static int dx(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int dy(long key) {
+        return (int) key;
+    }
+
+    // orders keys the way Point.slopeOrder orders slopes: horizontal is 0 and vertical comes last
+    private static int compareSlopes(long a, long b) {
+        return Long.compare((long) dy(a) * dx(b), (long) dy(b) * dx(a));
+    }
+
+    private static int bucket(int cx, int cy, int buckets) {
+        long h = ((long) cx << 32 | (cy & 0xffffffffL)) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (buckets - 1);
+    }
+
+    /*
+    Links from every point to the next one along each line through it that has a neighbor ahead, stored point
+    after point: those of point p are at first[p] until first[p + 1], in increasing key order.
+     */
+    private static final class Links {
+        private long[] keys;
+        private int[] next;
+        private boolean[] starts;
+        private final int[] first;
+        private int size;
+
+        Links(int n) {
+            keys = new long[Math.max(n, 16)];
+            next = new int[keys.length];
+            starts = new boolean[keys.length];
+            first = new int[n + 1];
+        }
+
+        void add(long key, int to, boolean start) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, 2 * size);
+                next = Arrays.copyOf(next, 2 * size);
+                starts = Arrays.copyOf(starts, 2 * size);
+            }
+            keys[size] = key;
+            next[size] = to;
+            starts[size] = start;
+            size++;
+        }
+
+        // insertion sort of one point's links by key; a point has only as many as it has neighbors
+        void sort(int from, int to) {
+            for (int i = from + 1; i < to; i++) {
+                for (int j = i; j > from && keys[j - 1] > keys[j]; j--) {
+                    long key = keys[j];
+                    keys[j] = keys[j - 1];
+                    keys[j - 1] = key;
+                    int n = next[j];
+                    next[j] = next[j - 1];
+                    next[j - 1] = n;
+                    boolean start = starts[j];
+                    starts[j] = starts[j - 1];
+                    starts[j - 1] = start;
+                }
+            }
+        }
+
+        // the link of point p along key, or -1 if the run ends at p
+        int find(int p, long key) {
+            int lo = first[p];
+            int hi = first[p + 1] - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] < key) {
+                    lo = mid + 1;
+                } else if (keys[mid] > key) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+    }
+
+    public int numberOfSegments() {
+        return segments.length;
+    }
+
+    public LineSegment[] segments() {
+        return segments.clone();
+    }
+
+    /*
+    Checks random points against FastCollinearPoints: with a radius covering every point the segments must be
+    identical, and with a small one they must be the lines FastCollinearPoints finds, cut wherever consecutive
+    points are more than radius apart.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int bound = args.length > 1 ? Integer.parseInt(args[1]) : 128;
+        int radius = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+        List<Point> list = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        while (list.size() < n && list.size() < bound * bound) {
+            int x = StdRandom.uniformInt(bound);
+            int y = StdRandom.uniformInt(bound);
+            if (seen.add((long) x << 32 | y)) {
+                list.add(new Point(x, y));
+            }
+        }
+        Point[] points = list.toArray(new Point[0]);
+        LineSegment[] lines = new FastCollinearPoints(points).segments();
+
+        LineSegment[] whole = new LocalCollinearPoints(points, 2 * bound).segments();
+        StdOut.println("points = " + points.length + ", lines = " + lines.length + ", same as FastCollinearPoints "
+                + "with radius " + 2 * bound + ": " + Arrays.toString(lines).equals(Arrays.toString(whole)));
+
+        Set<String> expected = new HashSet<>();
+        long r2 = (long) radius * radius;
+        for (LineSegment line : lines) {
+            Point p = line.p();
+            Point q = line.q();
+            List<Point> on = new ArrayList<>();
+            for (Point s : points) {
+                if (s.compareTo(p) == 0 || p.compareSlopes(q, s) == 0) {
+                    on.add(s);
+                }
+            }
+            on.sort(null);
+            for (int first = 0, last = 1; first < on.size(); first = last++) {
+                while (last < on.size() && squaredDistance(on.get(last - 1), on.get(last)) <= r2) {
+                    last++;
+                }
+                if (last - first >= 4) {
+                    expected.add(new LineSegment(on.get(first), on.get(last - 1)).toString());
+                }
+            }
+        }
+        Set<String> actual = new HashSet<>();
+        for (LineSegment segment : new LocalCollinearPoints(points, radius).segments()) {
+            actual.add(segment.toString());
+        }
+        StdOut.println("runs = " + actual.size() + ", same as cutting those lines at gaps over " + radius + ": "
+                + expected.equals(actual));
+    }
+
+    private static long squaredDistance(Point a, Point b) {
+        long dx = (long) a.x() - b.x();
+        long dy = (long) a.y() - b.y();
+        return dx * dx + dy * dy;
+    }
+}
@@ -2,6 +2,7 @@ package collinear;
 
 import edu.princeton.cs.algs4.StdDraw;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
 public class Point implements Comparable<Point> {
@@ -13,6 +14,14 @@ public class Point implements Comparable<Point> {
         this.y = y;
     }
 
+    int x() {
+        return x;
+    }
+
+    int y() {
+        return y;
+    }
+
     public void draw() {
         StdDraw.point(x, y);
     }
@@ -58,6 +67,77 @@ public class Point implements Comparable<Point> {
         return new BySlopeOrder(this);
     }
 
+    /*
+    Compares the slopes from this point to a and to b exactly, ordering them the way slopeTo does: this point
+    itself first, vertical last. Each slope dy / dx is turned to dx >= 0 and the comparison is
+    dy_a * dx_b against dy_b * dx_a; the deltas of two ints need up to 33 bits, so the products are compared as
+    128-bit values.
+     */
+    int compareSlopes(Point a, Point b) {
+        return compareSlopes((long) a.x - x, (long) a.y - y, (long) b.x - x, (long) b.y - y);
+    }
+
+    static int compareSlopes(long dxA, long dyA, long dxB, long dyB) {
+        int rankA = slopeRank(dxA, dyA);
+        int rankB = slopeRank(dxB, dyB);
+        if (rankA != 1 || rankB != 1) {
+            return Integer.compare(rankA, rankB);
+        }
+        if (dxA < 0) {
+            dxA = -dxA;
+            dyA = -dyA;
+        }
+        if (dxB < 0) {
+            dxB = -dxB;
+            dyB = -dyB;
+        }
+        return compareProducts(dyA, dxB, dyB, dxA);
+    }
+
+    // 0 for this point itself, 1 for a finite slope, 2 for vertical
+    private static int slopeRank(long dx, long dy) {
+        if (dx != 0) {
+            return 1;
+        }
+        return dy == 0 ? 0 : 2;
+    }
+
+    private static int compareProducts(long a, long b, long c, long d) {
+        int high = Long.compare(Math.multiplyHigh(a, b), Math.multiplyHigh(c, d));
+        return high != 0 ? high : Long.compareUnsigned(a * b, c * d);
+    }
+
+    // input check shared by the detectors: no null and no repeated point. Returns the sorted copy it finds repeats in
+    static Point[] validate(Point[] points) {
+        if (points == null || hasNull(points)) {
+            throw new IllegalArgumentException("Array and individual points cannot be null");
+        }
+        Point[] sorted = points.clone();
+        Arrays.sort(sorted);
+        if (hasRepeatedPoint(sorted)) {
+            throw new IllegalArgumentException("Points cannot be repeated");
+        }
+        return sorted;
+    }
+
+    private static boolean hasNull(Point[] points) {
+        for (Point p : points) {
+            if (p == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasRepeatedPoint(Point[] points) {
+        for (int i = 0; i < points.length - 1; i++) {
+            if (points[i].compareTo(points[i+1]) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static class BySlopeOrder implements Comparator<Point> {
         private final Point origin;
         public BySlopeOrder(Point point) {
@@ -65,10 +145,7 @@ public class Point implements Comparable<Point> {
         }
 
         public int compare(Point p1, Point p2) {
-            double slope1 = origin.slopeTo(p1);
-            double slope2 = origin.slopeTo(p2);
-
-            return Double.compare(slope1, slope2);
+            return origin.compareSlopes(p1, p2);
         }
     }
 }
@@ -0,0 +1,110 @@
+package collinear;
+
+import java.util.Arrays;
+
+/*
+Points stored as two parallel int arrays instead of one Point object each. A Point costs a 24-byte object plus
+a 4-byte reference in the array that holds it, where here a point is 8 bytes, and the coordinates of
+consecutive points are next to each other in memory. Detectors address points by index and only build Point
+and LineSegment objects for the segments they report.
+ */
+public class PointArray {
+    private int[] xs;
+    private int[] ys;
+    private int size;
+
+    public PointArray() {
+        this(16);
+    }
+
+    public PointArray(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity cannot be negative");
+        }
+        xs = new int[capacity];
+        ys = new int[capacity];
+    }
+
+    public static PointArray of(Point[] points) {
+        if (points == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        PointArray array = new PointArray(points.length);
+        for (Point p : points) {
+            if (p == null) {
+                throw new IllegalArgumentException("Points cannot be null");
+            }
+            array.add(p.x(), p.y());
+        }
+        return array;
+    }
+
+    public void add(int x, int y) {
+        if (size == xs.length) {
+            int capacity = Math.max(2 * xs.length, 16);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int x(int i) {
+        validate(i);
+        return xs[i];
+    }
+
+    public int y(int i) {
+        validate(i);
+        return ys[i];
+    }
+
+    public Point point(int i) {
+        validate(i);
+        return new Point(xs[i], ys[i]);
+    }
+
+    private void validate(int i) {
+        if (i < 0 || i >= size) {
+            throw new IllegalArgumentException("index " + i + " is not between 0 and " + (size - 1));
+        }
+    }
+
+    // same order as Point.compareTo
+    int compare(int i, int j) {
+        if (ys[i] != ys[j]) {
+            return ys[i] < ys[j] ? -1 : 1;
+        }
+        if (xs[i] != xs[j]) {
+            return xs[i] < xs[j] ? -1 : 1;
+        }
+        return 0;
+    }
+
+    // same value as Point.slopeTo, with the deltas taken in long so they cannot overflow
+    double slope(int from, int to) {
+        long dx = (long) xs[to] - xs[from];
+        long dy = (long) ys[to] - ys[from];
+        if (dx == 0 && dy == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (dy == 0) {
+            return 0.0;
+        }
+        if (dx == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return (double) dy / dx;
+    }
+
+    // same order as Point.compareSlopes
+    int compareSlopes(int origin, int a, int b) {
+        return Point.compareSlopes((long) xs[a] - xs[origin], (long) ys[a] - ys[origin],
+                (long) xs[b] - xs[origin], (long) ys[b] - ys[origin]);
+    }
+}
@@ -0,0 +1,130 @@
+package collinear;
+
+import java.util.Arrays;
+
+/*
+Open-addressing hash map from exact slopes to dense group numbers 0, 1, 2, ... in order of first appearance, so
+callers can keep per-group state in plain arrays. A group is represented by the first direction (dx, dy) seen
+for it, turned to point right (or up when vertical) but not reduced, so adding a pair costs O(1) expected time
+with no gcd. Slots are found by hashing the double dy / dx: parallel directions give exactly the same double,
+because the deltas are exact in a double and division is correctly rounded, while the rare distinct slopes that
+round alike only share a probe run. Whether a direction belongs to a group is then decided exactly by
+Point.compareSlopes, so two points get the same group from an origin exactly when they are on the same line
+through it. The deltas are taken in long, so any two int points work.
+
+Callers that need a canonical direction, to recognize the same line from another origin, call reduce on the
+groups they keep, which divides by the gcd once per group instead of once per pair.
+
+clear only resets the slots that were filled, so reusing the table for each origin of a detector costs time in
+proportion to what that origin touched rather than to the table's capacity.
+ */
+final class SlopeTable {
+    // group number plus one, so that 0 marks an empty slot
+    private int[] slots;
+    private long[] groupDx;
+    private long[] groupDy;
+    private int[] filled;
+    private int size;
+    private int mask;
+
+    SlopeTable(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(2 * expected, 8) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        groupDx = new long[capacity / 2];
+        groupDy = new long[capacity / 2];
+        filled = new int[capacity / 2];
+        mask = capacity - 1;
+    }
+
+    // the group of direction (dx, dy), opening a new one if it has not been seen since the last clear
+    int groupOf(long dx, long dy) {
+        if (dx == 0 && dy == 0) {
+            throw new IllegalArgumentException("A point has no slope to itself");
+        }
+        if (dx < 0 || (dx == 0 && dy < 0)) {
+            dx = -dx;
+            dy = -dy;
+        }
+        int i = hash(dx, dy);
+        while (slots[i] != 0) {
+            int g = slots[i] - 1;
+            if (Point.compareSlopes(groupDx[g], groupDy[g], dx, dy) == 0) {
+                return g;
+            }
+            i = (i + 1) & mask;
+        }
+        if (2 * (size + 1) > slots.length) {
+            grow();
+            return groupOf(dx, dy);
+        }
+        slots[i] = size + 1;
+        groupDx[size] = dx;
+        groupDy[size] = dy;
+        filled[size] = i;
+        return size++;
+    }
+
+    // number of groups opened since the last clear
+    int size() {
+        return size;
+    }
+
+    // direction of a group, with dx >= 0; reduced by its gcd only after reduce
+    long dxOf(int group) {
+        return groupDx[group];
+    }
+
+    long dyOf(int group) {
+        return groupDy[group];
+    }
+
+    // divides the direction of group by its gcd, so equal slopes from different origins get equal directions
+    void reduce(int group) {
+        long g = gcd(groupDx[group], Math.abs(groupDy[group]));
+        groupDx[group] /= g;
+        groupDy[group] /= g;
+    }
+
+    // orders two groups the way Point.slopeOrder orders their slopes
+    int compareSlopes(int a, int b) {
+        return Point.compareSlopes(groupDx[a], groupDy[a], groupDx[b], groupDy[b]);
+    }
+
+    void clear() {
+        for (int g = 0; g < size; g++) {
+            slots[filled[g]] = 0;
+        }
+        size = 0;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // dx >= 0 and the pair is not (0, 0), so vertical is +infinity and horizontal is +0.0
+    private int hash(long dx, long dy) {
+        double slope = dx == 0 ? Double.POSITIVE_INFINITY : (double) dy / dx;
+        long h = Double.doubleToLongBits(slope) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+
+    private void grow() {
+        long[] oldDx = Arrays.copyOf(groupDx, size);
+        long[] oldDy = Arrays.copyOf(groupDy, size);
+        int oldSize = size;
+        clear();
+        allocate(2 * slots.length);
+        for (int g = 0; g < oldSize; g++) {
+            groupOf(oldDx[g], oldDy[g]);
+        }
+    }
+}
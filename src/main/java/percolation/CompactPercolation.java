@@ -0,0 +1,60 @@
+package percolation;
+
+/*
+The n x n grid with edge neighbors on the same storage as LatticePercolation with the SQUARE_4 stencil (an open
+bitset plus a FlaggedUnionFind), behind the row and column API of Percolation.
+
+Sites are int indices into single arrays, so n stops at 46340, where n * n is still below 2^31. That covers
+20000 (about 1.7 GB) but not the top of the 20k-50k range: at n = 50000 the 2.5 * 10^9 sites need about 10 GB for
+the union-find alone, which no normal heap holds anyway. Grids that large go to MappedPercolation, which uses
+long indices over memory-mapped files.
+ */
+public class CompactPercolation {
+    // n * n sites must fit in a single int-indexed array
+    private static final int MAX_N = 46340;
+
+    private final int n;
+    private final LatticePercolation lattice;
+
+    public CompactPercolation(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be greater than 0");
+        }
+        if (n > MAX_N) {
+            throw new IllegalArgumentException("n must not be greater than " + MAX_N);
+        }
+        this.n = n;
+        lattice = new LatticePercolation(n, Stencil.SQUARE_4);
+    }
+
+    private int site(int row, int col) {
+        if (row < 1 || row > n || col < 1 || col > n) {
+            throw new IllegalArgumentException("index must be greater than 0 and lesser than n+1");
+        }
+        return (row - 1) * n + (col - 1);
+    }
+
+    public void open(int row, int col) {
+        lattice.open(site(row, col));
+    }
+
+    public boolean isOpen(int row, int col) {
+        return lattice.isOpen(site(row, col));
+    }
+
+    public boolean isFull(int row, int col) {
+        return lattice.isFull(site(row, col));
+    }
+
+    public int numberOfOpenSites() {
+        return lattice.numberOfOpenSites();
+    }
+
+    public boolean percolates() {
+        return lattice.percolates();
+    }
+
+    void clear() {
+        lattice.clear();
+    }
+}
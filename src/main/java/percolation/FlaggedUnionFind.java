@@ -0,0 +1,80 @@
+package percolation;
+
+import java.util.Arrays;
+
+/*
+Union by rank with path halving over sites 0 .. n - 1, where every root also carries whether its component
+touches the top or the bottom of the grid, so no virtual nodes are needed and isFull does not suffer from
+backwash. Parent links, ranks and flags share one array: a non-negative entry is the index of the parent, while
+a root stores ~(rank << FLAG_BITS | flags), which is always negative.
+
+Shared by the grids that keep their open sites elsewhere; callers only link a site to open neighbors.
+ */
+final class FlaggedUnionFind {
+    static final int TOP = 1;
+    static final int BOTTOM = 2;
+    private static final int FLAG_BITS = 2;
+
+    private final int[] parent;
+
+    FlaggedUnionFind(int n) {
+        parent = new int[n];
+        clear();
+    }
+
+    // every site becomes its own component without flags
+    void clear() {
+        Arrays.fill(parent, ~0);
+    }
+
+    // makes site a component of its own with the given flags
+    void add(int site, int flags) {
+        parent[site] = ~flags;
+    }
+
+    int find(int p) {
+        while (parent[p] >= 0) {
+            int grandparent = parent[parent[p]];
+            if (grandparent >= 0) {
+                parent[p] = grandparent;
+                p = grandparent;
+            } else {
+                return parent[p];
+            }
+        }
+        return p;
+    }
+
+    // root is already a root; merges in the component of p and returns the root of the result
+    int union(int root, int p) {
+        int other = find(p);
+        if (other == root) {
+            return root;
+        }
+        int rootEntry = ~parent[root];
+        int otherEntry = ~parent[other];
+        int flags = (rootEntry | otherEntry) & (TOP | BOTTOM);
+        int rankRoot = rootEntry >>> FLAG_BITS;
+        int rankOther = otherEntry >>> FLAG_BITS;
+        if (rankRoot < rankOther) {
+            int tmp = root;
+            root = other;
+            other = tmp;
+            rankRoot = rankOther;
+        } else if (rankRoot == rankOther) {
+            rankRoot++;
+        }
+        parent[other] = root;
+        parent[root] = ~(rankRoot << FLAG_BITS | flags);
+        return root;
+    }
+
+    // TOP and BOTTOM bits of the component rooted at root
+    int flags(int root) {
+        return ~parent[root] & (TOP | BOTTOM);
+    }
+
+    boolean percolates(int root) {
+        return flags(root) == (TOP | BOTTOM);
+    }
+}
@@ -0,0 +1,159 @@
+package percolation;
+
+import java.util.Arrays;
+
+/*
+Site percolation on an n x n (x n) lattice whose neighbors are given by a Stencil. Sites are flat row-major
+indices with the first axis slowest; the top is the first layer along that axis and the bottom the last one.
+Storage is an open bitset plus a FlaggedUnionFind, whose roots carry the top/bottom flags.
+ */
+public class LatticePercolation {
+    private final int n;
+    private final Stencil stencil;
+    private final int sites;
+    private final int layer;
+    private final int dimensions;
+    // per neighbor k: the change of the flat index, and at k * dimensions + axis the offset along each axis
+    private final int[] deltas;
+    private final int[] steps;
+    private final int[] coords;
+    private final long[] openBits;
+    private final FlaggedUnionFind uf;
+    private int openSites = 0;
+    private boolean percolates = false;
+
+    public LatticePercolation(int n, Stencil stencil) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be greater than 0");
+        }
+        if (stencil == null) {
+            throw new IllegalArgumentException("stencil must not be null");
+        }
+        long count = 1;
+        for (int d = 0; d < stencil.dimensions() && count <= Integer.MAX_VALUE; d++) {
+            count *= n;
+        }
+        if (count > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("lattice has too many sites: " + count);
+        }
+        this.n = n;
+        this.stencil = stencil;
+        sites = (int) count;
+        layer = sites / n;
+        openBits = new long[(sites + 63) >>> 6];
+        uf = new FlaggedUnionFind(sites);
+
+        dimensions = stencil.dimensions();
+        deltas = new int[stencil.size()];
+        steps = new int[stencil.size() * dimensions];
+        coords = new int[dimensions];
+        for (int k = 0; k < deltas.length; k++) {
+            long delta = 0;
+            for (int axis = 0; axis < dimensions; axis++) {
+                int step = stencil.offset(k, axis);
+                steps[k * dimensions + axis] = step;
+                delta = delta * n + step;
+            }
+            // an offset too large for the int index can never be in bounds, so its delta is never used
+            deltas[k] = (int) delta;
+        }
+    }
+
+    public int sites() {
+        return sites;
+    }
+
+    public Stencil stencil() {
+        return stencil;
+    }
+
+    private void validate(int site) {
+        if (site < 0 || site >= sites) {
+            throw new IllegalArgumentException("site must be between 0 and " + (sites - 1));
+        }
+    }
+
+    private boolean isOpenSite(int site) {
+        return (openBits[site >>> 6] & (1L << site)) != 0;
+    }
+
+    public void open(int site) {
+        validate(site);
+        if (isOpenSite(site)) {
+            return;
+        }
+        openBits[site >>> 6] |= 1L << site;
+        openSites++;
+
+        int flags = 0;
+        if (site < layer) {
+            flags |= FlaggedUnionFind.TOP;
+        }
+        if (site >= sites - layer) {
+            flags |= FlaggedUnionFind.BOTTOM;
+        }
+        uf.add(site, flags);
+
+        /*
+        The coordinates of site are taken once, then each neighbor of the stencil is checked against the bounds
+        axis by axis. deltas and steps are fixed for the lattice, so the loops have constant trip counts.
+         */
+        int rest = site;
+        for (int axis = dimensions - 1; axis > 0; axis--) {
+            int next = rest / n;
+            coords[axis] = rest - next * n;
+            rest = next;
+        }
+        coords[0] = rest;
+        int root = site;
+        for (int k = 0; k < deltas.length; k++) {
+            if (inBounds(k)) {
+                root = link(root, site + deltas[k]);
+            }
+        }
+        if (uf.percolates(root)) {
+            percolates = true;
+        }
+    }
+
+    private boolean inBounds(int neighbor) {
+        int base = neighbor * dimensions;
+        for (int axis = 0; axis < dimensions; axis++) {
+            int c = coords[axis] + steps[base + axis];
+            if (c < 0 || c >= n) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isOpen(int site) {
+        validate(site);
+        return isOpenSite(site);
+    }
+
+    public boolean isFull(int site) {
+        validate(site);
+        return isOpenSite(site) && (uf.flags(uf.find(site)) & FlaggedUnionFind.TOP) != 0;
+    }
+
+    public int numberOfOpenSites() {
+        return openSites;
+    }
+
+    public boolean percolates() {
+        return percolates;
+    }
+
+    void clear() {
+        Arrays.fill(openBits, 0L);
+        uf.clear();
+        openSites = 0;
+        percolates = false;
+    }
+
+    // root is already a root; merges in the component of neighbor if it is open and returns the new root
+    private int link(int root, int neighbor) {
+        return isOpenSite(neighbor) ? uf.union(root, neighbor) : root;
+    }
+}
@@ -0,0 +1,226 @@
+package percolation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedPercolation implements AutoCloseable {
+    // each mapping covers 1 GiB; a long entry never straddles two mappings
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    private static final long TOP = 1;
+    private static final long BOTTOM = 2;
+    private static final int FLAG_BITS = 2;
+
+    private final int n;
+    private final long sites;
+    private final FileChannel openChannel;
+    private final FileChannel parentChannel;
+    private final MappedByteBuffer[] openBits;
+    /*
+    Union-find entries are longs. A positive entry is the parent index plus one, while a root stores
+    -(rank << FLAG_BITS | flags). That way a freshly created, zero-filled (and sparse) file already describes
+    n * n closed singleton roots with no top or bottom flags, and nothing has to be written up front.
+     */
+    private final MappedByteBuffer[] parent;
+    private long openSites = 0;
+    private boolean percolates = false;
+
+    /*
+    The backing files are created in directory and deleted on close. There is deliberately no default: the usual
+    java.io.tmpdir is often a tmpfs, which lives in RAM and would defeat the point of an out-of-core grid.
+     */
+    public MappedPercolation(int n, Path directory) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be greater than 0");
+        }
+        if (directory == null) {
+            throw new IllegalArgumentException("directory must not be null");
+        }
+        this.n = n;
+        sites = (long) n * n;
+        FileChannel openFile = null;
+        FileChannel parentFile = null;
+        try {
+            openFile = open(directory, "percolation-open");
+            parentFile = open(directory, "percolation-parent");
+            openBits = map(openFile, ((sites + 63) >>> 6) * Long.BYTES);
+            parent = map(parentFile, sites * Long.BYTES);
+        } catch (IOException e) {
+            // closing is what deletes the files of the channels that were already opened
+            closeAll(e, openFile, parentFile);
+            throw new UncheckedIOException("Unable to map percolation grid of size " + n, e);
+        } catch (RuntimeException e) {
+            closeAll(e, openFile, parentFile);
+            throw e;
+        }
+        openChannel = openFile;
+        parentChannel = parentFile;
+    }
+
+    private static FileChannel open(Path directory, String prefix) throws IOException {
+        Path file = Files.createTempFile(directory, prefix, ".bin");
+        try {
+            return FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    // closes the channels that were opened, adding any failure to failure as a suppressed exception
+    private static void closeAll(Exception failure, FileChannel... channels) {
+        for (FileChannel channel : channels) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel, long bytes) throws IOException {
+        int chunks = (int) ((bytes + CHUNK_MASK) >>> CHUNK_SHIFT);
+        MappedByteBuffer[] buffers = new MappedByteBuffer[chunks];
+        for (int i = 0; i < chunks; i++) {
+            long position = (long) i << CHUNK_SHIFT;
+            buffers[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.min(1L << CHUNK_SHIFT, bytes - position));
+        }
+        return buffers;
+    }
+
+    private static long get(MappedByteBuffer[] buffers, long index) {
+        long offset = index * Long.BYTES;
+        return buffers[(int) (offset >>> CHUNK_SHIFT)].getLong((int) (offset & CHUNK_MASK));
+    }
+
+    private static void set(MappedByteBuffer[] buffers, long index, long value) {
+        long offset = index * Long.BYTES;
+        buffers[(int) (offset >>> CHUNK_SHIFT)].putLong((int) (offset & CHUNK_MASK), value);
+    }
+
+    private void validate(int row, int col) {
+        if (row < 1 || row > n || col < 1 || col > n) {
+            throw new IllegalArgumentException("index must be greater than 0 and lesser than n+1");
+        }
+    }
+
+    private boolean isOpen(long site) {
+        return (get(openBits, site >>> 6) & (1L << site)) != 0;
+    }
+
+    public void open(int row, int col) {
+        validate(row, col);
+        long site = (long) (row - 1) * n + (col - 1);
+        if (isOpen(site)) {
+            return;
+        }
+        set(openBits, site >>> 6, get(openBits, site >>> 6) | (1L << site));
+        openSites++;
+
+        long flags = 0;
+        if (row == 1) {
+            flags |= TOP;
+        }
+        if (row == n) {
+            flags |= BOTTOM;
+        }
+        set(parent, site, -flags);
+
+        long root = site;
+        if (col > 1 && isOpen(site - 1)) {
+            root = union(root, site - 1);
+        }
+        if (col < n && isOpen(site + 1)) {
+            root = union(root, site + 1);
+        }
+        if (row > 1 && isOpen(site - n)) {
+            root = union(root, site - n);
+        }
+        if (row < n && isOpen(site + n)) {
+            root = union(root, site + n);
+        }
+        if ((-get(parent, root) & (TOP | BOTTOM)) == (TOP | BOTTOM)) {
+            percolates = true;
+        }
+    }
+
+    public boolean isOpen(int row, int col) {
+        validate(row, col);
+        return isOpen((long) (row - 1) * n + (col - 1));
+    }
+
+    public boolean isFull(int row, int col) {
+        validate(row, col);
+        long site = (long) (row - 1) * n + (col - 1);
+        return isOpen(site) && (-get(parent, find(site)) & TOP) != 0;
+    }
+
+    public int numberOfOpenSites() {
+        return Math.toIntExact(openSites);
+    }
+
+    // numberOfOpenSites() overflows once more than Integer.MAX_VALUE sites are open
+    public long openSiteCount() {
+        return openSites;
+    }
+
+    public boolean percolates() {
+        return percolates;
+    }
+
+    @Override
+    public void close() {
+        // try-with-resources closes the second channel even when closing the first one fails
+        try (FileChannel first = openChannel; FileChannel second = parentChannel) {
+            // nothing else to do
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long find(long p) {
+        long next = get(parent, p);
+        while (next > 0) {
+            long grandparent = get(parent, next - 1);
+            if (grandparent <= 0) {
+                return next - 1;
+            }
+            set(parent, p, grandparent);
+            p = grandparent - 1;
+            next = get(parent, p);
+        }
+        return p;
+    }
+
+    // root is already a root; returns the root of the merged component
+    private long union(long root, long p) {
+        long other = find(p);
+        if (other == root) {
+            return root;
+        }
+        long rootEntry = -get(parent, root);
+        long otherEntry = -get(parent, other);
+        long flags = (rootEntry | otherEntry) & (TOP | BOTTOM);
+        long rankRoot = rootEntry >>> FLAG_BITS;
+        long rankOther = otherEntry >>> FLAG_BITS;
+        if (rankRoot < rankOther) {
+            long tmp = root;
+            root = other;
+            other = tmp;
+            rankRoot = rankOther;
+        } else if (rankRoot == rankOther) {
+            rankRoot++;
+        }
+        set(parent, other, root + 1);
+        set(parent, root, -(rankRoot << FLAG_BITS | flags));
+        return root;
+    }
+}
@@ -1,73 +1,83 @@
 package percolation;
 
-import edu.princeton.cs.algs4.WeightedQuickUnionUF;
+import java.util.Arrays;
 
 public class Percolation {
-    private final WeightedQuickUnionUF wuf;
-    private final int[][] gridSites;
-    private int openSites = 0;
     private final int n;
+    private final boolean[] open;
+    /*
+    Union-find whose roots also say whether their component touches the top or bottom row, which is what lets
+    isFull and percolates be answered without virtual top and bottom nodes, and therefore without backwash.
+    clear resets it in place when PercolationTrial reuses one grid for many trials.
+     */
+    private final FlaggedUnionFind uf;
+    private int openSites = 0;
+    private boolean percolates = false;
 
     public Percolation(int n) {
         if (n <= 0) {
             throw new IllegalArgumentException("n must be greater than 0");
         }
         this.n = n;
-        wuf = new WeightedQuickUnionUF(n * n + 2);
-        gridSites = new int[n][n];
+        open = new boolean[n * n];
+        uf = new FlaggedUnionFind(n * n);
     }
 
     private int map2dCoordinatesTo1d(int row, int col) {
         return row * n + col;
     }
 
-    public void open(int row, int col) {
-        if (row < 1 || col < 1 && row > n || col > n) {
+    private void validate(int row, int col) {
+        if (row < 1 || row > n || col < 1 || col > n) {
             throw new IllegalArgumentException("index must be greater than 0 and lesser than n+1");
         }
+    }
+
+    public void open(int row, int col) {
+        validate(row, col);
         row = row - 1;
         col = col - 1;
-        if (gridSites[row][col] == 0) {
-            gridSites[row][col] = 1;
-            openSites++;
-
+        int site = map2dCoordinatesTo1d(row, col);
+        if (!open[site]) {
+            int flags = 0;
             if (row == 0) {
-                wuf.union(0, map2dCoordinatesTo1d(row, col) + 1);
+                flags |= FlaggedUnionFind.TOP;
             }
             if (row == n - 1) {
-                wuf.union(n * n + 1, map2dCoordinatesTo1d(row, col) + 1);
+                flags |= FlaggedUnionFind.BOTTOM;
+            }
+            open[site] = true;
+            uf.add(site, flags);
+            openSites++;
+
+            int root = site;
+            if (col - 1 >= 0 && open[site - 1]) {
+                root = uf.union(root, site - 1);
             }
-            if (col - 1 >= 0 && gridSites[row][col - 1] == 1) {
-                wuf.union(map2dCoordinatesTo1d(row, col) + 1, map2dCoordinatesTo1d(row, col - 1) + 1);
+            if (col + 1 < n && open[site + 1]) {
+                root = uf.union(root, site + 1);
             }
-            if (col + 1 < n && gridSites[row][col + 1] == 1) {
-                wuf.union(map2dCoordinatesTo1d(row, col) + 1, map2dCoordinatesTo1d(row, col + 1) + 1);
+            if (row - 1 >= 0 && open[site - n]) {
+                root = uf.union(root, site - n);
             }
-            if (row - 1 >= 0 && gridSites[row - 1][col] == 1) {
-                wuf.union(map2dCoordinatesTo1d(row, col) + 1, map2dCoordinatesTo1d(row - 1, col) + 1);
+            if (row + 1 < n && open[site + n]) {
+                root = uf.union(root, site + n);
             }
-            if (row + 1 < n && gridSites[row + 1][col] == 1) {
-                wuf.union(map2dCoordinatesTo1d(row, col) + 1, map2dCoordinatesTo1d(row + 1, col) + 1);
+            if (uf.percolates(root)) {
+                percolates = true;
             }
         }
     }
 
     public boolean isOpen(int row, int col) {
-        if (row < 1 || col < 1 && row > n || col > n) {
-            throw new IllegalArgumentException("index must be greater than 0 and lesser than n+1");
-        }
-        row = row - 1;
-        col = col - 1;
-        return gridSites[row][col] == 1;
+        validate(row, col);
+        return open[map2dCoordinatesTo1d(row - 1, col - 1)];
     }
 
     public boolean isFull(int row, int col) {
-        if (row < 1 || col < 1 && row > n || col > n) {
-            throw new IllegalArgumentException("index must be greater than 0 and lesser than n+1");
-        }
-        row = row - 1;
-        col = col - 1;
-        return wuf.find(0) == wuf.find(map2dCoordinatesTo1d(row, col) + 1);
+        validate(row, col);
+        int site = map2dCoordinatesTo1d(row - 1, col - 1);
+        return open[site] && (uf.flags(uf.find(site)) & FlaggedUnionFind.TOP) != 0;
     }
 
     public int numberOfOpenSites() {
@@ -75,7 +85,14 @@ public class Percolation {
     }
 
     public boolean percolates() {
-        return wuf.find(0) == wuf.find(n * n + 1);
+        return percolates;
+    }
+
+    void clear() {
+        Arrays.fill(open, false);
+        uf.clear();
+        openSites = 0;
+        percolates = false;
     }
 
 }
@@ -2,50 +2,170 @@ package percolation;
 
 import edu.princeton.cs.algs4.StdOut;
 import edu.princeton.cs.algs4.StdRandom;
-import edu.princeton.cs.algs4.StdStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PercolationStats {
-    private final double[] results;
-    private final int trials;
+    // early stopping is only considered once the standard deviation estimate has a few samples behind it
+    private static final int MIN_TRIALS_BEFORE_STOP = 10;
+    // trials handed to each worker per round; rounds keep memory bounded and the fold order deterministic
+    private static final int TRIALS_PER_WORKER = 8;
+
+    private final RunningStats stats = new RunningStats();
+
+    public enum Sampler {
+        RANDOM_SITES,
+        SHUFFLED_SITES
+    }
+
+    public interface TrialListener {
+        void trialCompleted(int trial, double threshold, double mean, double stddev);
+    }
 
     public PercolationStats(int n, int trials) {
-        if (n <= 0 || trials <= 0) {
+        this(n, trials, 1, StdRandom.uniformLong(Long.MAX_VALUE));
+    }
+
+    public PercolationStats(int n, int trials, int threads, long seed) {
+        this(n, trials, threads, seed, Sampler.RANDOM_SITES);
+    }
+
+    public PercolationStats(int n, int trials, int threads, long seed, Sampler sampler) {
+        this(n, trials, threads, seed, sampler, 0.0, null);
+    }
+
+    /*
+    Runs at most maxTrials trials and stops as soon as the 95% confidence interval is narrower than epsilon
+    (epsilon = 0 never stops early). Trial results are folded into a running mean and variance in trial order
+    and reported to the listener, if any, as they are folded, so the outcome only depends on the seed.
+     */
+    public PercolationStats(int n, int maxTrials, int threads, long seed, Sampler sampler, double epsilon, TrialListener listener) {
+        this(n, Stencil.SQUARE_4, maxTrials, threads, seed, sampler, epsilon, listener);
+    }
+
+    // same as above on an n x n (x n) lattice with the given neighbor stencil
+    public PercolationStats(int n, Stencil stencil, int maxTrials, int threads, long seed, Sampler sampler, double epsilon,
+                            TrialListener listener) {
+        if (n <= 0 || maxTrials <= 0) {
             throw new IllegalArgumentException("n or trials must be greater than 0");
         }
-        results = new double[trials];
-        this.trials = trials;
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be greater than 0");
+        }
+        if (sampler == null || stencil == null) {
+            throw new IllegalArgumentException("sampler and stencil must not be null");
+        }
+        if (!(epsilon >= 0.0)) {
+            throw new IllegalArgumentException("epsilon must not be negative");
+        }
+
+        /*
+        Every trial gets its own generator split from the master seed in trial order, so the results only
+        depend on the seed and never on how the trials end up distributed across the workers.
+         */
+        SplittableRandom master = new SplittableRandom(seed);
+        int workers = Math.min(threads, maxTrials);
+        PercolationTrial[] runners = new PercolationTrial[workers];
+        for (int w = 0; w < workers; w++) {
+            runners[w] = new PercolationTrial(n, stencil, sampler);
+        }
+        int roundSize = workers == 1 ? 1 : Math.min(maxTrials, workers * TRIALS_PER_WORKER);
+        SplittableRandom[] randoms = new SplittableRandom[roundSize];
+        double[] round = new double[roundSize];
+
+        ExecutorService executor = workers == 1 ? null : Executors.newFixedThreadPool(workers);
+        try {
+            while (stats.count() < maxTrials) {
+                int size = Math.min(roundSize, maxTrials - stats.count());
+                for (int i = 0; i < size; i++) {
+                    randoms[i] = master.split();
+                }
+                if (executor == null) {
+                    round[0] = runners[0].run(randoms[0]);
+                } else {
+                    runRound(executor, runners, randoms, round, size);
+                }
+                for (int i = 0; i < size; i++) {
+                    stats.add(round[i]);
+                    if (listener != null) {
+                        listener.trialCompleted(stats.count(), round[i], mean(), stddev());
+                    }
+                    if (epsilon > 0.0 && stats.count() >= MIN_TRIALS_BEFORE_STOP && confidenceHi() - confidenceLo() < epsilon) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
 
-        for (int i = 0; i < trials; i++) {
-            Percolation percolation = new Percolation(n);
-            while (!percolation.percolates()) {
-                int row = StdRandom.uniformInt(1, n + 1);
-                int col = StdRandom.uniformInt(1, n + 1);
-                percolation.open(row, col);
+    private static void runRound(ExecutorService executor, PercolationTrial[] runners, SplittableRandom[] randoms, double[] round, int size) {
+        AtomicInteger nextTrial = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (PercolationTrial runner : runners) {
+                futures.add(executor.submit(() -> {
+                    for (int i = nextTrial.getAndIncrement(); i < size; i = nextTrial.getAndIncrement()) {
+                        round[i] = runner.run(randoms[i]);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
             }
-            results[i] = (double) percolation.numberOfOpenSites() / Math.pow(n, 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running trials", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Trial failed", e.getCause());
         }
     }
 
+    public int trials() {
+        return stats.count();
+    }
+
     public double mean() {
-        return StdStats.mean(results);
+        return stats.mean();
     }
 
     public double stddev() {
-        return StdStats.stddev(results);
+        return stats.stddev();
     }
 
     public double confidenceLo() {
-        return mean() - (1.96 * stddev() / Math.sqrt(trials));
+        return stats.confidenceLo();
     }
 
     public double confidenceHi() {
-        return mean() + (1.96 * stddev() / Math.sqrt(trials));
+        return stats.confidenceHi();
     }
 
     public static void main(String[] args) {
         int n = Integer.parseInt(args[0]);
         int trials = Integer.parseInt(args[1]);
-        PercolationStats percolationStats = new PercolationStats(n, trials);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : StdRandom.uniformLong(Long.MAX_VALUE);
+        Sampler sampler = args.length > 4 ? Sampler.valueOf(args[4]) : Sampler.RANDOM_SITES;
+        double epsilon = args.length > 5 ? Double.parseDouble(args[5]) : 0.0;
+        Stencil stencil = args.length > 6 ? Stencil.valueOf(args[6]) : Stencil.SQUARE_4;
+        TrialListener listener = null;
+        if (epsilon > 0.0) {
+            listener = (trial, threshold, mean, stddev) ->
+                    StdOut.println("trial " + trial + ": " + threshold + " (mean = " + mean + ", stddev = " + stddev + ")");
+        }
+        PercolationStats percolationStats = new PercolationStats(n, stencil, trials, threads, seed, sampler, epsilon, listener);
+        StdOut.println("trials = " + percolationStats.trials());
         StdOut.println("mean = " + percolationStats.mean());
         StdOut.println("stddev = " + percolationStats.stddev());
         StdOut.println("95% confidence interval = [" + percolationStats.confidenceLo() + ", " + percolationStats.confidenceHi() + "]");
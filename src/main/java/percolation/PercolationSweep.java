@@ -0,0 +1,189 @@
+package percolation;
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+public class PercolationSweep {
+    // trials per leaf task; each leaf runs on one grid buffer, so this is also the minimum reuse per buffer
+    private static final int LEAF_TRIALS = 4;
+
+    private final int[] sizes;
+    private final RunningStats[] stats;
+
+    public PercolationSweep(int[] sizes, int[] trials, int threads, long seed, PercolationStats.Sampler sampler) {
+        this(sizes, Stencil.SQUARE_4, trials, threads, seed, sampler);
+    }
+
+    // sizes are lattice sides, so with a 3D stencil a size of n means n^3 sites
+    public PercolationSweep(int[] sizes, Stencil stencil, int[] trials, int threads, long seed,
+                            PercolationStats.Sampler sampler) {
+        if (sizes == null || trials == null || sizes.length != trials.length) {
+            throw new IllegalArgumentException("sizes and trials must have the same length");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be greater than 0");
+        }
+        if (sampler == null) {
+            throw new IllegalArgumentException("sampler must not be null");
+        }
+        if (stencil == null) {
+            throw new IllegalArgumentException("stencil must not be null");
+        }
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] <= 0 || trials[i] <= 0) {
+                throw new IllegalArgumentException("n or trials must be greater than 0");
+            }
+        }
+        this.sizes = sizes.clone();
+        stats = new RunningStats[sizes.length];
+
+        // same splitting discipline as PercolationStats: one generator per trial, split in a fixed order
+        SplittableRandom master = new SplittableRandom(seed);
+        double[][] results = new double[sizes.length][];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        ThreadLocal<PercolationTrial> buffers = new ThreadLocal<>();
+        for (int i = 0; i < sizes.length; i++) {
+            SplittableRandom sizeMaster = master.split();
+            SplittableRandom[] randoms = new SplittableRandom[trials[i]];
+            for (int t = 0; t < randoms.length; t++) {
+                randoms[t] = sizeMaster.split();
+            }
+            results[i] = new double[trials[i]];
+            tasks.add(new Trials(sizes[i], stencil, sampler, randoms, results[i], 0, randoms.length, buffers));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // largest grids first so the long trials do not end up as a tail on a single worker
+            List<Integer> bySize = new ArrayList<>();
+            for (int i = 0; i < sizes.length; i++) {
+                bySize.add(i);
+            }
+            bySize.sort((a, b) -> Integer.compare(sizes[b], sizes[a]));
+            for (int i : bySize) {
+                pool.execute(tasks.get(i));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int i = 0; i < sizes.length; i++) {
+            stats[i] = new RunningStats();
+            for (double threshold : results[i]) {
+                stats[i].add(threshold);
+            }
+        }
+    }
+
+    private static class Trials extends RecursiveAction {
+        private final int n;
+        private final Stencil stencil;
+        private final PercolationStats.Sampler sampler;
+        private final SplittableRandom[] randoms;
+        private final double[] results;
+        private final int lo;
+        private final int hi;
+        private final ThreadLocal<PercolationTrial> buffers;
+
+        Trials(int n, Stencil stencil, PercolationStats.Sampler sampler, SplittableRandom[] randoms, double[] results,
+               int lo, int hi, ThreadLocal<PercolationTrial> buffers) {
+            this.n = n;
+            this.stencil = stencil;
+            this.sampler = sampler;
+            this.randoms = randoms;
+            this.results = results;
+            this.lo = lo;
+            this.hi = hi;
+            this.buffers = buffers;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > LEAF_TRIALS) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Trials(n, stencil, sampler, randoms, results, lo, mid, buffers),
+                        new Trials(n, stencil, sampler, randoms, results, mid, hi, buffers));
+                return;
+            }
+            // a worker keeps the grid of the last size it ran, so consecutive leaves of that size reuse it
+            PercolationTrial trial = buffers.get();
+            if (trial == null || trial.n() != n || trial.stencil() != stencil) {
+                trial = new PercolationTrial(n, stencil, sampler);
+                buffers.set(trial);
+            }
+            for (int i = lo; i < hi; i++) {
+                results[i] = trial.run(randoms[i]);
+            }
+        }
+    }
+
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder("n,trials,mean,stddev,confidenceLo,confidenceHi\n");
+        for (int i = 0; i < sizes.length; i++) {
+            csv.append(sizes[i]).append(',')
+                    .append(stats[i].count()).append(',')
+                    .append(stats[i].mean()).append(',')
+                    .append(stats[i].stddev()).append(',')
+                    .append(stats[i].confidenceLo()).append(',')
+                    .append(stats[i].confidenceHi()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < sizes.length; i++) {
+            json.append("  {\"n\": ").append(sizes[i])
+                    .append(", \"trials\": ").append(stats[i].count())
+                    .append(", \"mean\": ").append(jsonNumber(stats[i].mean()))
+                    .append(", \"stddev\": ").append(jsonNumber(stats[i].stddev()))
+                    .append(", \"confidenceLo\": ").append(jsonNumber(stats[i].confidenceLo()))
+                    .append(", \"confidenceHi\": ").append(jsonNumber(stats[i].confidenceHi()))
+                    .append(i + 1 < sizes.length ? "},\n" : "}\n");
+        }
+        return json.append("]\n").toString();
+    }
+
+    // a single trial has an undefined stddev, which JSON cannot represent as a number
+    private static String jsonNumber(double value) {
+        return Double.isFinite(value) ? Double.toString(value) : "null";
+    }
+
+    /*
+    Usage: PercolationSweep csv|json trials seed [stencil] n1[:trials1] n2[:trials2] ...
+    Sizes without an explicit trial budget use the default trials argument; the stencil defaults to SQUARE_4.
+     */
+    public static void main(String[] args) {
+        String format = args[0];
+        if (!format.equals("csv") && !format.equals("json")) {
+            throw new IllegalArgumentException("format must be csv or json, not " + format);
+        }
+        int defaultTrials = Integer.parseInt(args[1]);
+        long seed = Long.parseLong(args[2]);
+        int first = 3;
+        Stencil stencil = Stencil.SQUARE_4;
+        if (args.length > first && !Character.isDigit(args[first].charAt(0))) {
+            stencil = Stencil.valueOf(args[first++]);
+        }
+        int[] sizes = new int[args.length - first];
+        int[] trials = new int[args.length - first];
+        for (int i = first; i < args.length; i++) {
+            String[] parts = args[i].split(":");
+            sizes[i - first] = Integer.parseInt(parts[0]);
+            trials[i - first] = parts.length > 1 ? Integer.parseInt(parts[1]) : defaultTrials;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        PercolationSweep sweep = new PercolationSweep(sizes, stencil, trials, threads, seed,
+                PercolationStats.Sampler.SHUFFLED_SITES);
+        StdOut.print(format.equals("json") ? sweep.toJson() : sweep.toCsv());
+    }
+}
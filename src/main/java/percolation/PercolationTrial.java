@@ -0,0 +1,106 @@
+package percolation;
+
+import java.util.SplittableRandom;
+
+class PercolationTrial {
+    private final int n;
+    private final Stencil stencil;
+    private final PercolationStats.Sampler sampler;
+    private Percolation percolation;
+    private LatticePercolation lattice;
+    private int[] order;
+
+    PercolationTrial(int n, PercolationStats.Sampler sampler) {
+        this(n, Stencil.SQUARE_4, sampler);
+    }
+
+    PercolationTrial(int n, Stencil stencil, PercolationStats.Sampler sampler) {
+        this.n = n;
+        this.stencil = stencil;
+        this.sampler = sampler;
+    }
+
+    int n() {
+        return n;
+    }
+
+    Stencil stencil() {
+        return stencil;
+    }
+
+    double run(SplittableRandom random) {
+        if (stencil != Stencil.SQUARE_4) {
+            return runLattice(random);
+        }
+        if (percolation == null) {
+            percolation = new Percolation(n);
+        } else {
+            percolation.clear();
+        }
+        if (sampler == PercolationStats.Sampler.SHUFFLED_SITES) {
+            openShuffled(random);
+        } else {
+            openRandom(random);
+        }
+        return (double) percolation.numberOfOpenSites() / ((double) n * n);
+    }
+
+    private void openRandom(SplittableRandom random) {
+        while (!percolation.percolates()) {
+            int row = random.nextInt(1, n + 1);
+            int col = random.nextInt(1, n + 1);
+            percolation.open(row, col);
+        }
+    }
+
+    /*
+    Fisher-Yates performed lazily: step i swaps a uniformly chosen not-yet-used site into position i and opens it,
+    so every draw opens a fresh site and no draws are spent past the percolation point. The array is reset to the
+    identity first, so the sites a trial opens depend only on its own generator and not on what this worker ran before.
+     */
+    private void openShuffled(SplittableRandom random) {
+        int sites = resetOrder(n * n).length;
+        for (int i = 0; !percolation.percolates(); i++) {
+            int site = swapIn(random, i, sites);
+            percolation.open(site / n + 1, site % n + 1);
+        }
+    }
+
+    private double runLattice(SplittableRandom random) {
+        if (lattice == null) {
+            lattice = new LatticePercolation(n, stencil);
+        } else {
+            lattice.clear();
+        }
+        int sites = lattice.sites();
+        if (sampler == PercolationStats.Sampler.RANDOM_SITES) {
+            while (!lattice.percolates()) {
+                lattice.open(random.nextInt(sites));
+            }
+        } else {
+            resetOrder(sites);
+            for (int i = 0; !lattice.percolates(); i++) {
+                lattice.open(swapIn(random, i, sites));
+            }
+        }
+        return (double) lattice.numberOfOpenSites() / sites;
+    }
+
+    private int swapIn(SplittableRandom random, int i, int sites) {
+        int j = random.nextInt(i, sites);
+        int site = order[j];
+        order[j] = order[i];
+        order[i] = site;
+        return site;
+    }
+
+    private int[] resetOrder(int sites) {
+        if (order == null) {
+            order = new int[sites];
+        }
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,37 @@
+package percolation;
+
+// Welford's online mean and variance, so no per-trial results have to be kept around
+class RunningStats {
+    private static final double CONFIDENCE_95 = 1.96;
+
+    private int count;
+    private double mean;
+    private double m2;
+
+    void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    int count() {
+        return count;
+    }
+
+    double mean() {
+        return mean;
+    }
+
+    double stddev() {
+        return Math.sqrt(m2 / (count - 1));
+    }
+
+    double confidenceLo() {
+        return mean - (CONFIDENCE_95 * stddev() / Math.sqrt(count));
+    }
+
+    double confidenceHi() {
+        return mean + (CONFIDENCE_95 * stddev() / Math.sqrt(count));
+    }
+}
@@ -0,0 +1,119 @@
+package percolation;
+
+import java.util.Arrays;
+
+/*
+A neighborhood on a d-dimensional lattice, given by its dimensions and a table of offsets, one int per axis with
+the first axis slowest. The table has to be symmetric (with every offset its negation), since LatticePercolation
+only links a site to the open neighbors it sees when it opens, and has to be seen back from each of them.
+
+The common lattices are predefined; any other neighborhood, such as a 3D lattice with edge neighbors or a 2D one
+with second-nearest neighbors, is built with the constructor.
+ */
+public final class Stencil {
+    // 2D square lattice, edge neighbors only (von Neumann)
+    public static final Stencil SQUARE_4 = new Stencil("SQUARE_4", 2, new int[][] {
+            {0, -1}, {0, 1}, {-1, 0}, {1, 0}
+    });
+    // 2D square lattice, edge and corner neighbors (Moore)
+    public static final Stencil SQUARE_8 = new Stencil("SQUARE_8", 2, new int[][] {
+            {0, -1}, {0, 1}, {-1, 0}, {1, 0}, {-1, -1}, {-1, 1}, {1, -1}, {1, 1}
+    });
+    // 3D simple cubic lattice, face neighbors only
+    public static final Stencil CUBIC_6 = new Stencil("CUBIC_6", 3, new int[][] {
+            {0, 0, -1}, {0, 0, 1}, {0, -1, 0}, {0, 1, 0}, {-1, 0, 0}, {1, 0, 0}
+    });
+
+    private static final Stencil[] PRESETS = {SQUARE_4, SQUARE_8, CUBIC_6};
+
+    private final String name;
+    private final int dimensions;
+    private final int[][] offsets;
+
+    public Stencil(String name, int dimensions, int[][] offsets) {
+        if (name == null) {
+            throw new IllegalArgumentException("name must not be null");
+        }
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be greater than 0");
+        }
+        if (offsets == null || offsets.length == 0) {
+            throw new IllegalArgumentException("offsets must not be empty");
+        }
+        int[][] copy = new int[offsets.length][];
+        for (int k = 0; k < offsets.length; k++) {
+            if (offsets[k] == null || offsets[k].length != dimensions) {
+                throw new IllegalArgumentException("every offset must have " + dimensions + " components");
+            }
+            copy[k] = offsets[k].clone();
+            if (isZero(copy[k])) {
+                throw new IllegalArgumentException("a site is not its own neighbor");
+            }
+            for (int j = 0; j < k; j++) {
+                if (Arrays.equals(copy[j], copy[k])) {
+                    throw new IllegalArgumentException("offset " + Arrays.toString(copy[k]) + " is repeated");
+                }
+            }
+        }
+        for (int[] offset : copy) {
+            if (!contains(copy, negate(offset))) {
+                throw new IllegalArgumentException("offset " + Arrays.toString(offset) + " has no opposite");
+            }
+        }
+        this.name = name;
+        this.dimensions = dimensions;
+        this.offsets = copy;
+    }
+
+    public static Stencil valueOf(String name) {
+        for (Stencil stencil : PRESETS) {
+            if (stencil.name.equals(name)) {
+                return stencil;
+            }
+        }
+        throw new IllegalArgumentException("No stencil named " + name);
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    // number of neighbors of a site away from the boundary
+    public int size() {
+        return offsets.length;
+    }
+
+    public int offset(int neighbor, int axis) {
+        return offsets[neighbor][axis];
+    }
+
+    public String toString() {
+        return name;
+    }
+
+    private static boolean isZero(int[] offset) {
+        for (int c : offset) {
+            if (c != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] negate(int[] offset) {
+        int[] negated = new int[offset.length];
+        for (int i = 0; i < offset.length; i++) {
+            negated[i] = -offset[i];
+        }
+        return negated;
+    }
+
+    private static boolean contains(int[][] offsets, int[] offset) {
+        for (int[] candidate : offsets) {
+            if (Arrays.equals(candidate, offset)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
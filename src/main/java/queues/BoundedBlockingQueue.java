@@ -0,0 +1,347 @@
+package queues;
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+Bounded FIFO handoff between pipeline stages. Producers block in put once capacity items are waiting and
+consumers block in take while it is empty, so a fast reader cannot run the heap out ahead of its workers.
+
+Items live in a power-of-two ring buffer addressed by ever-growing head and tail counters. Producers only touch
+the tail under putLock and consumers only the head under takeLock, so the two sides never wait for each other's
+lock; they meet only on the shared count. head and tail sit in padded holders so that the two sides do not keep
+invalidating each other's cache line either.
+ */
+public class BoundedBlockingQueue<Item> {
+    private final Item[] items;
+    private final int mask;
+    private final int capacity;
+
+    private final PaddedIndex head = new PaddedIndex();
+    private final PaddedIndex tail = new PaddedIndex();
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+
+    // a cache line of padding on either side of value
+    private static final class PaddedIndex {
+        long p1, p2, p3, p4, p5, p6, p7;
+        long value;
+        long q1, q2, q3, q4, q5, q6, q7;
+    }
+
+    public BoundedBlockingQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        this.capacity = capacity;
+        int length = Integer.highestOneBit(capacity);
+        if (length < capacity) {
+            length <<= 1;
+        }
+        items = (Item[]) new Object[length];
+        mask = length - 1;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // only a snapshot while other threads are putting or taking
+    public int size() {
+        return count.get();
+    }
+
+    // only a snapshot while other threads are putting or taking
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    public int remainingCapacity() {
+        return capacity - count.get();
+    }
+
+    public void put(Item item) throws InterruptedException {
+        validate(item);
+        int c;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() == capacity) {
+                notFull.await();
+            }
+            c = enqueue(item);
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    // returns false straight away if the queue is full
+    public boolean offer(Item item) {
+        validate(item);
+        if (count.get() == capacity) {
+            return false;
+        }
+        int c;
+        putLock.lock();
+        try {
+            if (count.get() == capacity) {
+                return false;
+            }
+            c = enqueue(item);
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    // returns false if the queue is still full once the timeout elapses
+    public boolean offer(Item item, long timeout, TimeUnit unit) throws InterruptedException {
+        validate(item);
+        long nanos = unit.toNanos(timeout);
+        int c;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() == capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            c = enqueue(item);
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    public Item take() throws InterruptedException {
+        Item item;
+        int c;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                notEmpty.await();
+            }
+            item = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) {
+            signalNotFull();
+        }
+        return item;
+    }
+
+    // returns null straight away if the queue is empty
+    public Item poll() {
+        if (count.get() == 0) {
+            return null;
+        }
+        Item item;
+        int c;
+        takeLock.lock();
+        try {
+            if (count.get() == 0) {
+                return null;
+            }
+            item = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) {
+            signalNotFull();
+        }
+        return item;
+    }
+
+    // returns null if the queue is still empty once the timeout elapses
+    public Item poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        Item item;
+        int c;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            item = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) {
+            signalNotFull();
+        }
+        return item;
+    }
+
+    /*
+    Moves up to a.length waiting items into a, oldest first, without blocking, and returns how many it moved.
+    The whole batch costs one lock acquisition, at most two array copies and one update of the shared count.
+     */
+    public int drainTo(Item[] a) {
+        if (a == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        if (a.length == 0 || count.get() == 0) {
+            return 0;
+        }
+        int n;
+        int c;
+        takeLock.lock();
+        try {
+            n = Math.min(a.length, count.get());
+            int first = (int) head.value & mask;
+            int part = Math.min(n, items.length - first);
+            System.arraycopy(items, first, a, 0, part);
+            System.arraycopy(items, 0, a, part, n - part);
+            Arrays.fill(items, first, first + part, null);
+            Arrays.fill(items, 0, n - part, null);
+            head.value += n;
+            c = count.getAndAdd(-n);
+            if (c > n) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity) {
+            signalNotFull();
+        }
+        return n;
+    }
+
+    private void validate(Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+    }
+
+    // caller holds putLock and has checked there is room; returns the count before the item was added
+    private int enqueue(Item item) {
+        items[(int) tail.value & mask] = item;
+        tail.value++;
+        int c = count.getAndIncrement();
+        if (c + 1 < capacity) {
+            notFull.signal();
+        }
+        return c;
+    }
+
+    // caller holds takeLock and has checked there is an item
+    private Item dequeue() {
+        int i = (int) head.value & mask;
+        Item item = items[i];
+        items[i] = null;
+        head.value++;
+        return item;
+    }
+
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        int producers = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        BoundedBlockingQueue<Integer> queue = new BoundedBlockingQueue<>(capacity);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = id; i < items; i += producers) {
+                        queue.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[p].start();
+        }
+        // each producer's items must come out in the order it put them
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        boolean ordered = true;
+        boolean bounded = true;
+        long sum = 0;
+        int taken = 0;
+        Integer[] batch = new Integer[64];
+        while (taken < items) {
+            bounded &= queue.size() <= capacity;
+            int n = queue.drainTo(batch);
+            if (n == 0) {
+                Integer item = queue.poll(10, TimeUnit.MILLISECONDS);
+                if (item == null) {
+                    continue;
+                }
+                batch[0] = item;
+                n = 1;
+            }
+            for (int i = 0; i < n; i++) {
+                int item = batch[i];
+                ordered &= item > last[item % producers];
+                last[item % producers] = item;
+                sum += item;
+            }
+            taken += n;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long expectedSum = (long) items * (items - 1) / 2;
+        StdOut.println("items = " + items + ", capacity = " + capacity + ", producers = " + producers);
+        boolean complete = ordered && sum == expectedSum;
+        StdOut.println("size stayed within capacity: " + bounded);
+        StdOut.println("every item taken once, in order per producer: " + complete);
+        if (!bounded || !complete) {
+            throw new AssertionError("BoundedBlockingQueue self-check failed");
+        }
+    }
+}
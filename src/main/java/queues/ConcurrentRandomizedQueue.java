@@ -0,0 +1,174 @@
+package queues;
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+Thread-safe randomized queue split into independently locked stripes. enqueue appends to a random stripe and
+dequeue removes a random slot of a stripe chosen uniformly among the non-empty ones, so threads rarely contend
+for the same lock.
+
+The price is that selection is only approximately uniform over the whole queue: an item is chosen with
+probability 1 / (non-empty stripes * size of its stripe) rather than 1 / size. Random placement keeps the stripe
+sizes close to each other, so the bias shrinks as the queue grows; main measures it against RandomizedQueue.
+Emptiness can change at any moment, so dequeue and sample return null instead of throwing when nothing is found.
+ */
+public class ConcurrentRandomizedQueue<Item> {
+    private final Stripe<Item>[] stripes;
+
+    private static class Stripe<Item> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Item[] items = (Item[]) new Object[4];
+        private volatile int size;
+    }
+
+    public ConcurrentRandomizedQueue() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public ConcurrentRandomizedQueue(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("stripeCount must be greater than 0");
+        }
+        stripes = (Stripe<Item>[]) new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    // only a snapshot while other threads are enqueuing or dequeuing
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // only a snapshot while other threads are enqueuing or dequeuing
+    public int size() {
+        int size = 0;
+        for (Stripe<Item> stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    public void enqueue(Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        Stripe<Item> stripe = stripes[ThreadLocalRandom.current().nextInt(stripes.length)];
+        stripe.lock.lock();
+        try {
+            if (stripe.size == stripe.items.length) {
+                Item[] copy = (Item[]) new Object[2 * stripe.items.length];
+                System.arraycopy(stripe.items, 0, copy, 0, stripe.size);
+                stripe.items = copy;
+            }
+            stripe.items[stripe.size] = item;
+            stripe.size = stripe.size + 1;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /*
+    Counts the non-empty stripes, picks one of them uniformly and takes a random slot of it. Walking on from a
+    random start instead would let a stripe absorb the share of every empty stripe before it. Another thread may
+    empty the chosen stripe before its lock is taken, in which case the choice is made again.
+     */
+    public Item dequeue() {
+        return take(true);
+    }
+
+    public Item sample() {
+        return take(false);
+    }
+
+    private Item take(boolean remove) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            int nonEmpty = 0;
+            for (Stripe<Item> stripe : stripes) {
+                if (stripe.size > 0) {
+                    nonEmpty++;
+                }
+            }
+            if (nonEmpty == 0) {
+                return null;
+            }
+            int pick = random.nextInt(nonEmpty);
+            Stripe<Item> stripe = null;
+            for (Stripe<Item> candidate : stripes) {
+                if (candidate.size > 0 && pick-- == 0) {
+                    stripe = candidate;
+                    break;
+                }
+            }
+            if (stripe == null) {
+                // a stripe emptied between the two passes
+                continue;
+            }
+            stripe.lock.lock();
+            try {
+                int size = stripe.size;
+                if (size == 0) {
+                    continue;
+                }
+                int slot = random.nextInt(size);
+                Item item = stripe.items[slot];
+                if (remove) {
+                    stripe.items[slot] = stripe.items[size - 1];
+                    stripe.items[size - 1] = null;
+                    stripe.size = size - 1;
+                    if (size - 1 > 0 && size - 1 == stripe.items.length / 4) {
+                        Item[] copy = (Item[]) new Object[stripe.items.length / 2];
+                        System.arraycopy(stripe.items, 0, copy, 0, size - 1);
+                        stripe.items = copy;
+                    }
+                }
+                return item;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /*
+    Measures the uniformity tradeoff: fills each queue with n items once and counts how often every item is
+    returned by sample() over many draws, for this queue and for RandomizedQueue. Prints the chi-square statistic
+    against a uniform distribution (about n - 1 is expected for a uniform sampler) and the max/min frequency ratio.
+    The placement is fixed during the draws, so the stripe-size bias shows up instead of averaging out.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int draws = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int stripeCount = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        ConcurrentRandomizedQueue<Integer> concurrent = new ConcurrentRandomizedQueue<>(stripeCount);
+        RandomizedQueue<Integer> reference = new RandomizedQueue<>();
+        for (int i = 0; i < n; i++) {
+            concurrent.enqueue(i);
+            reference.enqueue(i);
+        }
+        long[] striped = new long[n];
+        long[] uniform = new long[n];
+        for (int d = 0; d < draws; d++) {
+            striped[concurrent.sample()]++;
+            uniform[reference.sample()]++;
+        }
+        report("ConcurrentRandomizedQueue (" + stripeCount + " stripes)", striped, draws);
+        report("RandomizedQueue", uniform, draws);
+    }
+
+    private static void report(String name, long[] counts, int rounds) {
+        double expected = (double) rounds / counts.length;
+        double chiSquare = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (long count : counts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+        }
+        StdOut.printf("%-40s chi-square = %.1f (df = %d), max/min = %.3f%n", name, chiSquare, counts.length - 1, (double) max / Math.max(min, 1));
+    }
+}
@@ -2,17 +2,28 @@ package queues;
 
 import edu.princeton.cs.algs4.StdOut;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 public class Deque<Item> implements Iterable<Item> {
-    private Node first;
-    private Node last;
+    private static final int MIN_CAPACITY = 8;
+    // the largest power of two an int-indexed array can have
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /*
+    Circular buffer whose capacity is always a power of two, so wrapping an index is a mask instead of a
+    branch or a modulo. head is the slot of the first item and the items occupy size consecutive slots from it.
+     */
+    private Item[] items;
+    private int head;
     private int size;
+    private int modCount;
 
     public Deque() {
-        first = null;
-        last = null;
+        items = (Item[]) new Object[MIN_CAPACITY];
+        head = 0;
         size = 0;
     }
 
@@ -28,49 +39,85 @@ public class Deque<Item> implements Iterable<Item> {
         if (item == null) {
             throw new IllegalArgumentException("Item must not be null");
         }
-         Node oldFirst = first;
-         first = new Node();
-         first.item = item;
-         first.next = oldFirst;
-         if (oldFirst != null) {
-             oldFirst.previous = first;
-         }
-         if (isEmpty()) {
-             last = first;
-         }
-         size++;
+        if (size == items.length) {
+            resize(grownCapacity(size + 1L));
+        }
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
+        size++;
+        modCount++;
     }
 
     public void addLast(Item item) {
         if (item == null) {
             throw new IllegalArgumentException("Item must not be null");
         }
-        Node oldLast = last;
-        last = new Node();
-        last.item = item;
-        last.next = null;
-        if (isEmpty()) {
-            first = last;
-        } else {
-            last.previous = oldLast;
-            oldLast.next = last;
+        if (size == items.length) {
+            resize(grownCapacity(size + 1L));
         }
+        items[(head + size) & (items.length - 1)] = item;
         size++;
+        modCount++;
+    }
+
+    // appends a[off..off+len) in order, growing the buffer at most once
+    public void addAllLast(Item[] a, int off, int len) {
+        if (a == null) {
+            throw new IllegalArgumentException("Array must not be null");
+        }
+        if (off < 0 || len < 0 || off > a.length - len) {
+            throw new IllegalArgumentException("Range out of bounds");
+        }
+        for (int i = off; i < off + len; i++) {
+            if (a[i] == null) {
+                throw new IllegalArgumentException("Item must not be null");
+            }
+        }
+        if ((long) size + len > items.length) {
+            resize(grownCapacity((long) size + len));
+        }
+        int tail = (head + size) & (items.length - 1);
+        int firstPart = Math.min(len, items.length - tail);
+        System.arraycopy(a, off, items, tail, firstPart);
+        System.arraycopy(a, off + firstPart, items, 0, len - firstPart);
+        size += len;
+        modCount++;
+    }
+
+    // removes up to a.length items from the front into a, in order, and returns how many were moved
+    public int drainTo(Item[] a) {
+        if (a == null) {
+            throw new IllegalArgumentException("Array must not be null");
+        }
+        int count = Math.min(size, a.length);
+        int firstPart = Math.min(count, items.length - head);
+        System.arraycopy(items, head, a, 0, firstPart);
+        System.arraycopy(items, 0, a, firstPart, count - firstPart);
+        Arrays.fill(items, head, head + firstPart, null);
+        Arrays.fill(items, 0, count - firstPart, null);
+        head = (head + count) & (items.length - 1);
+        size -= count;
+        modCount++;
+        int capacity = items.length;
+        while (capacity > MIN_CAPACITY && size <= capacity / 4) {
+            capacity /= 2;
+        }
+        if (capacity != items.length) {
+            resize(capacity);
+        }
+        return count;
     }
 
     public Item removeFirst() {
         if (isEmpty()) {
             throw new NoSuchElementException("No elements in the deque");
         }
+        Item item = items[head];
+        items[head] = null;
+        head = (head + 1) & (items.length - 1);
         size--;
-        Item item = first.item;
-        first = first.next;
-        if (first != null) {
-            first.previous = null;
-        }
-        if (isEmpty()) {
-            last = null;
-        }
+        modCount++;
+        shrinkIfSparse();
         return item;
     }
 
@@ -78,33 +125,53 @@ public class Deque<Item> implements Iterable<Item> {
         if (isEmpty()) {
             throw new NoSuchElementException("No elements in the deque");
         }
+        int tail = (head + size - 1) & (items.length - 1);
+        Item item = items[tail];
+        items[tail] = null;
         size--;
-        Item item = last.item;
-        last = last.previous;
-        if (last != null) {
-            last.next = null;
+        modCount++;
+        shrinkIfSparse();
+        return item;
+    }
+
+    // the current capacity doubled until it holds needed items; counted in long so the doubling cannot overflow
+    private int grownCapacity(long needed) {
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalStateException("Deque cannot hold more than " + MAX_CAPACITY + " items");
         }
-        if (isEmpty()) {
-            first = null;
+        long capacity = items.length;
+        while (capacity < needed) {
+            capacity *= 2;
         }
-        return item;
+        return (int) capacity;
     }
 
-    public Iterator<Item> iterator() {
-        return new DequeIterator();
+    private void shrinkIfSparse() {
+        if (items.length > MIN_CAPACITY && size == items.length / 4) {
+            resize(items.length / 2);
+        }
     }
 
-    private class Node {
-        Item item;
-        Node next;
-        Node previous;
+    // copies the items to the front of a new array, unwrapping them with at most two array copies
+    private void resize(int capacity) {
+        Item[] copy = (Item[]) new Object[capacity];
+        int firstPart = Math.min(size, items.length - head);
+        System.arraycopy(items, head, copy, 0, firstPart);
+        System.arraycopy(items, 0, copy, firstPart, size - firstPart);
+        items = copy;
+        head = 0;
+    }
+
+    public Iterator<Item> iterator() {
+        return new DequeIterator();
     }
 
     private class DequeIterator implements Iterator<Item> {
-        private Node current = first;
+        private int i = 0;
+        private final int expectedModCount = modCount;
 
         public boolean hasNext() {
-            return current != null;
+            return i < size;
         }
 
         public void remove() {
@@ -112,12 +179,13 @@ public class Deque<Item> implements Iterable<Item> {
         }
 
         public Item next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Deque was modified during iteration");
+            }
             if (!hasNext()) {
                 throw new NoSuchElementException("No more elements to iterate");
             }
-            Item item = current.item;
-            current = current.next;
-            return item;
+            return items[(head + i++) & (items.length - 1)];
         }
     }
 
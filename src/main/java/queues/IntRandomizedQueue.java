@@ -0,0 +1,101 @@
+package queues;
+
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// RandomizedQueue specialized for int items: no boxing and 4 bytes per slot
+public class IntRandomizedQueue implements Iterable<Integer> {
+    private int[] items;
+    private int size;
+    private int modCount;
+
+    public IntRandomizedQueue() {
+        items = new int[1];
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void enqueue(int item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, 2 * items.length);
+        }
+        items[size++] = item;
+        modCount++;
+    }
+
+    public int dequeue() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No elements in the randomized queue");
+        }
+        int random = StdRandom.uniformInt(size);
+        int item = items[random];
+        items[random] = items[--size];
+        modCount++;
+        if (size > 0 && size == items.length / 4) {
+            items = Arrays.copyOf(items, items.length / 2);
+        }
+        return item;
+    }
+
+    public int sample() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No elements in the randomized queue");
+        }
+        return items[StdRandom.uniformInt(size)];
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntRandomizedQueueIterator();
+    }
+
+    private class IntRandomizedQueueIterator implements PrimitiveIterator.OfInt {
+        private final SparsePermutation order = new SparsePermutation(size);
+        private final int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            return order.hasNext();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+
+        public int nextInt() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Randomized queue was modified during iteration");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements to iterate");
+            }
+            return items[order.next()];
+        }
+    }
+
+    public static void main(String[] args) {
+        IntRandomizedQueue randomizedQueue = new IntRandomizedQueue();
+        for (int i = 0; i < 10; i++) {
+            randomizedQueue.enqueue(i);
+        }
+        StdOut.println(randomizedQueue.size());
+        StdOut.println(randomizedQueue.sample());
+        for (int i = 0; i < 5; i++) {
+            StdOut.println(randomizedQueue.dequeue() + " Current size: " + randomizedQueue.size());
+        }
+        PrimitiveIterator.OfInt iterator = randomizedQueue.iterator();
+        while (iterator.hasNext()) {
+            StdOut.println(iterator.nextInt());
+        }
+    }
+}
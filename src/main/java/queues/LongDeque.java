@@ -0,0 +1,134 @@
+package queues;
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Deque specialized for long items: same ring buffer, but no boxing and 8 bytes per slot
+public class LongDeque implements Iterable<Long> {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] items;
+    private int head;
+    private int size;
+    private int modCount;
+
+    public LongDeque() {
+        items = new long[MIN_CAPACITY];
+        head = 0;
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void addFirst(long item) {
+        if (size == items.length) {
+            resize(2 * items.length);
+        }
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
+        size++;
+        modCount++;
+    }
+
+    public void addLast(long item) {
+        if (size == items.length) {
+            resize(2 * items.length);
+        }
+        items[(head + size) & (items.length - 1)] = item;
+        size++;
+        modCount++;
+    }
+
+    public long removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No elements in the deque");
+        }
+        long item = items[head];
+        head = (head + 1) & (items.length - 1);
+        size--;
+        modCount++;
+        shrinkIfSparse();
+        return item;
+    }
+
+    public long removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No elements in the deque");
+        }
+        long item = items[(head + size - 1) & (items.length - 1)];
+        size--;
+        modCount++;
+        shrinkIfSparse();
+        return item;
+    }
+
+    private void shrinkIfSparse() {
+        if (items.length > MIN_CAPACITY && size == items.length / 4) {
+            resize(items.length / 2);
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] copy = new long[capacity];
+        int firstPart = Math.min(size, items.length - head);
+        System.arraycopy(items, head, copy, 0, firstPart);
+        System.arraycopy(items, 0, copy, firstPart, size - firstPart);
+        items = copy;
+        head = 0;
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongDequeIterator();
+    }
+
+    private class LongDequeIterator implements PrimitiveIterator.OfLong {
+        private int i = 0;
+        private final int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            return i < size;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+
+        public long nextLong() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Deque was modified during iteration");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements to iterate");
+            }
+            return items[(head + i++) & (items.length - 1)];
+        }
+    }
+
+    public static void main(String[] args) {
+        LongDeque deque = new LongDeque();
+        deque.addFirst(3);
+        deque.addLast(2);
+        deque.addLast(1);
+        deque.addFirst(4);
+
+        StdOut.println(deque.isEmpty());
+        StdOut.println(deque.size());
+
+        StdOut.println(deque.removeLast());
+        StdOut.println(deque.removeFirst());
+
+        PrimitiveIterator.OfLong iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            StdOut.println(iterator.nextLong());
+        }
+    }
+}
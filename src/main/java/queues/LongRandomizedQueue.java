@@ -0,0 +1,101 @@
+package queues;
+
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// RandomizedQueue specialized for long items: no boxing and 8 bytes per slot
+public class LongRandomizedQueue implements Iterable<Long> {
+    private long[] items;
+    private int size;
+    private int modCount;
+
+    public LongRandomizedQueue() {
+        items = new long[1];
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void enqueue(long item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, 2 * items.length);
+        }
+        items[size++] = item;
+        modCount++;
+    }
+
+    public long dequeue() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No elements in the randomized queue");
+        }
+        int random = StdRandom.uniformInt(size);
+        long item = items[random];
+        items[random] = items[--size];
+        modCount++;
+        if (size > 0 && size == items.length / 4) {
+            items = Arrays.copyOf(items, items.length / 2);
+        }
+        return item;
+    }
+
+    public long sample() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No elements in the randomized queue");
+        }
+        return items[StdRandom.uniformInt(size)];
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongRandomizedQueueIterator();
+    }
+
+    private class LongRandomizedQueueIterator implements PrimitiveIterator.OfLong {
+        private final SparsePermutation order = new SparsePermutation(size);
+        private final int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            return order.hasNext();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Remove operation is not supported");
+        }
+
+        public long nextLong() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Randomized queue was modified during iteration");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements to iterate");
+            }
+            return items[order.next()];
+        }
+    }
+
+    public static void main(String[] args) {
+        LongRandomizedQueue randomizedQueue = new LongRandomizedQueue();
+        for (int i = 0; i < 10; i++) {
+            randomizedQueue.enqueue(i);
+        }
+        StdOut.println(randomizedQueue.size());
+        StdOut.println(randomizedQueue.sample());
+        for (int i = 0; i < 5; i++) {
+            StdOut.println(randomizedQueue.dequeue() + " Current size: " + randomizedQueue.size());
+        }
+        PrimitiveIterator.OfLong iterator = randomizedQueue.iterator();
+        while (iterator.hasNext()) {
+            StdOut.println(iterator.nextLong());
+        }
+    }
+}
@@ -2,14 +2,37 @@ package queues;
 
 import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
 public class Permutation {
+    /*
+    Usage: Permutation k [--stream]
+    With --stream only k strings are ever held in memory: standard input is read through a channel and sampled
+    with reservoir sampling instead of being loaded into a RandomizedQueue first.
+     */
     public static void main(String[] args) {
         int k = Integer.parseInt(args[0]);
-        RandomizedQueue<String> randomizedQueue = new RandomizedQueue<>();
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
         if (k == 0) {
             return;
         }
+        if (args.length > 1 && args[1].equals("--stream")) {
+            ReadableByteChannel in = new FileInputStream(FileDescriptor.in).getChannel();
+            for (String item : sample(new TokenReader(in), k)) {
+                if (item != null) {
+                    StdOut.println(item);
+                }
+            }
+            return;
+        }
+        RandomizedQueue<String> randomizedQueue = new RandomizedQueue<>();
         while (!StdIn.isEmpty()) {
             String line = StdIn.readString();
             randomizedQueue.enqueue(line);
@@ -18,4 +41,48 @@ public class Permutation {
             StdOut.println(randomizedQueue.dequeue());
         }
     }
+
+    /*
+    Li's Algorithm L: after the reservoir fills up, the number of tokens to pass over before the next
+    replacement is drawn directly from its geometric-like distribution, so skipped tokens cost neither RNG calls
+    nor String allocations. Returns the sample in random order, padded with nulls if the input had fewer than k
+    tokens.
+     */
+    static String[] sample(TokenReader reader, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+        String[] reservoir = new String[k];
+        int filled = 0;
+        while (filled < k) {
+            String token = reader.next();
+            if (token == null) {
+                break;
+            }
+            reservoir[filled++] = token;
+        }
+        if (filled == k && k > 0) {
+            double w = Math.exp(Math.log(uniformOpenZero()) / k);
+            while (true) {
+                long skip = (long) Math.floor(Math.log(uniformOpenZero()) / Math.log1p(-w));
+                boolean more = true;
+                for (long i = 0; i < skip && more; i++) {
+                    more = reader.skip();
+                }
+                String token = more ? reader.next() : null;
+                if (token == null) {
+                    break;
+                }
+                reservoir[StdRandom.uniformInt(k)] = token;
+                w *= Math.exp(Math.log(uniformOpenZero()) / k);
+            }
+        }
+        StdRandom.shuffle(reservoir, 0, filled);
+        return reservoir;
+    }
+
+    // uniform in (0, 1], so its logarithm is always finite
+    private static double uniformOpenZero() {
+        return 1.0 - StdRandom.uniformDouble();
+    }
 }
@@ -3,12 +3,25 @@ package queues;
 import edu.princeton.cs.algs4.StdOut;
 import edu.princeton.cs.algs4.StdRandom;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+/*
+Iterators are fail-fast rather than snapshots: they draw items from the live array in random order on demand, so
+enqueueing or dequeueing while one is in use makes its next call to next() throw ConcurrentModificationException.
+Take a copy first (for example with sample(size())) to keep iterating across modifications.
+ */
 public class RandomizedQueue<Item> implements Iterable<Item> {
+    // the largest array size the JVM reliably allocates
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
     private Item[] items;
     private int size;
+    private int modCount;
 
     public RandomizedQueue() {
         items = (Item[]) new Object[1];
@@ -28,16 +41,47 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
             throw new IllegalArgumentException("Item cannot be null");
         }
         if (size == items.length) {
-            resize(2*items.length);
+            resize(grownCapacity(size + 1L));
         }
         items[size++] = item;
+        modCount++;
+    }
+
+    public void enqueueAll(Item[] a, int off, int len) {
+        if (a == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        if (off < 0 || len < 0 || off > a.length - len) {
+            throw new IllegalArgumentException("Range out of bounds");
+        }
+        for (int i = off; i < off + len; i++) {
+            if (a[i] == null) {
+                throw new IllegalArgumentException("Item cannot be null");
+            }
+        }
+        if ((long) size + len > items.length) {
+            resize(grownCapacity((long) size + len));
+        }
+        System.arraycopy(a, off, items, size, len);
+        size += len;
+        modCount++;
+    }
+
+    // the current capacity doubled until it holds needed items; counted in long so the doubling cannot overflow
+    private int grownCapacity(long needed) {
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalStateException("Randomized queue cannot hold more than " + MAX_CAPACITY + " items");
+        }
+        long capacity = items.length;
+        while (capacity < needed) {
+            capacity *= 2;
+        }
+        return (int) Math.min(capacity, MAX_CAPACITY);
     }
 
     private void resize(int capacity) {
         Item[] copy = (Item[]) new Object[capacity];
-        for (int i = 0; i < size; i++) {
-            copy[i] = items[i];
-        }
+        System.arraycopy(items, 0, copy, 0, size);
         items = copy;
     }
 
@@ -49,12 +93,85 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         Item item = items[random];
         items[random] = items[--size];
         items[size] = null;
+        modCount++;
         if (size > 0 && size == items.length / 4) {
             resize(items.length / 2);
         }
         return item;
     }
 
+    /*
+    Removes k distinct random items. A partial Fisher-Yates moves the chosen items to the end of the array,
+    so they leave with a single array copy and the array is resized at most once.
+     */
+    public List<Item> dequeue(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+        if (k > size) {
+            throw new NoSuchElementException("Not enough elements in the randomized queue");
+        }
+        moveRandomToEnd(k);
+        List<Item> taken = new ArrayList<>(k);
+        for (int i = size - k; i < size; i++) {
+            taken.add(items[i]);
+        }
+        removeLast(k);
+        return taken;
+    }
+
+    // removes up to a.length random items into a, in random order, and returns how many were moved
+    public int drainTo(Item[] a) {
+        if (a == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        int count = Math.min(size, a.length);
+        moveRandomToEnd(count);
+        System.arraycopy(items, size - count, a, 0, count);
+        removeLast(count);
+        return count;
+    }
+
+    // partial Fisher-Yates: afterwards the last k items of the array are k distinct random ones
+    private void moveRandomToEnd(int k) {
+        for (int i = 0; i < k; i++) {
+            int last = size - 1 - i;
+            int random = StdRandom.uniformInt(last + 1);
+            Item item = items[random];
+            items[random] = items[last];
+            items[last] = item;
+        }
+    }
+
+    private void removeLast(int k) {
+        Arrays.fill(items, size - k, size, null);
+        size -= k;
+        modCount++;
+        int capacity = items.length;
+        while (size > 0 && size <= capacity / 4) {
+            capacity /= 2;
+        }
+        if (capacity != items.length) {
+            resize(capacity);
+        }
+    }
+
+    // k distinct random items, without changing the queue
+    public List<Item> sample(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+        if (k > size) {
+            throw new NoSuchElementException("Not enough elements in the randomized queue");
+        }
+        SparsePermutation order = new SparsePermutation(size);
+        List<Item> sampled = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            sampled.add(items[order.next()]);
+        }
+        return sampled;
+    }
+
     public Item sample() {
         if (isEmpty()) {
             throw new NoSuchElementException("No elements in the randomized queue");
@@ -68,28 +185,28 @@ public class RandomizedQueue<Item> implements Iterable<Item> {
         return new RandomizedQueueIterator();
     }
 
+    /*
+    Produces the items in random order on demand instead of copying and shuffling them all up front, so taking
+    only the first few items of a large queue is cheap. It reads the live array and is therefore fail-fast.
+     */
     private class RandomizedQueueIterator implements Iterator<Item> {
-        private Item[] randomItems;
-        private int i = size;
+        private final SparsePermutation order = new SparsePermutation(size);
+        private final int expectedModCount = modCount;
 
-        public RandomizedQueueIterator() {
-            randomItems = (Item[]) new Object[size];
-            for (int i = 0; i < size; i++) {
-                randomItems[i] = items[i];
-            }
-            StdRandom.shuffle(randomItems);
-        }
         public boolean hasNext() {
-            return i > 0;
+            return order.hasNext();
         }
         public void remove() {
             throw new UnsupportedOperationException("Remove operation is not supported");
         }
         public Item next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("Randomized queue was modified during iteration");
+            }
             if (!hasNext()) {
                 throw new NoSuchElementException("No more elements to iterate");
             }
-            return randomItems[--i];
+            return items[order.next()];
         }
     }
 
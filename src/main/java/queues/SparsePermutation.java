@@ -0,0 +1,117 @@
+package queues;
+
+import edu.princeton.cs.algs4.StdRandom;
+
+/*
+Uniformly random permutation of 0..n-1 produced one index at a time. It runs Fisher-Yates over a virtual
+identity array and only stores the slots that a swap has changed, in a small open-addressing hash map, so
+drawing k indices costs O(k) time and memory no matter how large n is. The entry of a slot is removed as soon as
+the slot falls off the end of the shrinking range, or is set back to its own index, so the map only ever holds
+the live swapped slots rather than every slot touched so far.
+ */
+class SparsePermutation {
+    private int remaining;
+    // keys are stored plus one so that 0 marks an empty slot
+    private int[] keys;
+    private int[] values;
+    private int entries;
+
+    SparsePermutation(int n) {
+        remaining = n;
+        keys = new int[16];
+        values = new int[16];
+    }
+
+    boolean hasNext() {
+        return remaining > 0;
+    }
+
+    int next() {
+        int j = StdRandom.uniformInt(remaining);
+        int last = --remaining;
+        int tail = take(last);
+        if (j == last) {
+            return tail;
+        }
+        if (tail == j) {
+            return take(j);
+        }
+        int picked = get(j);
+        put(j, tail);
+        return picked;
+    }
+
+    private int get(int i) {
+        int mask = keys.length - 1;
+        for (int slot = hash(i) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == i + 1) {
+                return values[slot];
+            }
+        }
+        return i;
+    }
+
+    // the value of slot i, removing its entry; backward-shift deletion keeps every probe run unbroken
+    private int take(int i) {
+        int mask = keys.length - 1;
+        int slot = hash(i) & mask;
+        while (keys[slot] != i + 1) {
+            if (keys[slot] == 0) {
+                return i;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int value = values[slot];
+        int hole = slot;
+        for (int s = (hole + 1) & mask; keys[s] != 0; s = (s + 1) & mask) {
+            int home = hash(keys[s] - 1) & mask;
+            if (((s - home) & mask) >= ((s - hole) & mask)) {
+                keys[hole] = keys[s];
+                values[hole] = values[s];
+                hole = s;
+            }
+        }
+        keys[hole] = 0;
+        entries--;
+        return value;
+    }
+
+    private void put(int i, int value) {
+        int mask = keys.length - 1;
+        int slot = hash(i) & mask;
+        while (keys[slot] != 0 && keys[slot] != i + 1) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == 0) {
+            keys[slot] = i + 1;
+            entries++;
+        }
+        values[slot] = value;
+        if (2 * entries > keys.length) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[2 * oldKeys.length];
+        values = new int[2 * oldValues.length];
+        int mask = keys.length - 1;
+        for (int s = 0; s < oldKeys.length; s++) {
+            if (oldKeys[s] != 0) {
+                int slot = hash(oldKeys[s] - 1) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[s];
+                values[slot] = oldValues[s];
+            }
+        }
+    }
+
+    private static int hash(int i) {
+        int h = i * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
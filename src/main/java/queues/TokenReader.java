@@ -0,0 +1,93 @@
+package queues;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+Reads whitespace-separated UTF-8 tokens from a channel through one reusable buffer. Tokens can be skipped
+without ever being turned into Strings, which is what makes skipping through huge inputs cheap.
+Only ASCII whitespace separates tokens.
+ */
+class TokenReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private byte[] token = new byte[64];
+    private int tokenLength;
+    private boolean endOfInput;
+
+    TokenReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    // returns the next token, or null at the end of the input
+    String next() {
+        if (!advance(true)) {
+            return null;
+        }
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    // skips over the next token; returns false if there was none
+    boolean skip() {
+        return advance(false);
+    }
+
+    private boolean advance(boolean keep) {
+        tokenLength = 0;
+        int b;
+        do {
+            b = read();
+        } while (b != -1 && isWhitespace(b));
+        if (b == -1) {
+            return false;
+        }
+        while (b != -1 && !isWhitespace(b)) {
+            if (keep) {
+                if (tokenLength == token.length) {
+                    token = Arrays.copyOf(token, 2 * token.length);
+                }
+                token[tokenLength++] = (byte) b;
+            }
+            b = read();
+        }
+        return true;
+    }
+
+    private int read() {
+        if (!buffer.hasRemaining()) {
+            if (endOfInput || !fill()) {
+                return -1;
+            }
+        }
+        return buffer.get() & 0xff;
+    }
+
+    private boolean fill() {
+        try {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            buffer.flip();
+            if (read < 0) {
+                endOfInput = true;
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+}
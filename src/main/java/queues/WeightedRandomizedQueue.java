@@ -0,0 +1,266 @@
+package queues;
+
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/*
+Randomized queue whose sample and dequeue pick each item with probability weight / totalWeight.
+
+Items sit in slots of a power-of-two array and a Fenwick tree over their weights gives any prefix sum in
+O(log n). Picking an item draws a point in [0, totalWeight) and descends the tree to the slot whose prefix
+range contains it, also O(log n). enqueue returns the slot as a handle that stays valid until that item
+leaves the queue, so callers can change its weight or remove it later. Freed slots are reused before the
+array grows, and the array never shrinks, which is what keeps handles stable.
+
+Repeated additions and subtractions let rounding errors build up in the tree, so it is rebuilt from the exact
+weights after every capacity updates, which costs O(1) amortized per update.
+ */
+public class WeightedRandomizedQueue<Item> {
+    private static final int MIN_CAPACITY = 8;
+
+    private Item[] items;
+    private double[] weights;
+    private double[] tree;      // 1-based Fenwick tree, tree[capacity] holds the total weight
+    private int[] free;
+    private int freeCount;
+    private int used;           // slots at or above used have never been handed out
+    private int size;
+    private int updates;
+
+    public WeightedRandomizedQueue() {
+        items = (Item[]) new Object[MIN_CAPACITY];
+        weights = new double[MIN_CAPACITY];
+        tree = new double[MIN_CAPACITY + 1];
+        free = new int[MIN_CAPACITY];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double totalWeight() {
+        return size == 0 ? 0.0 : tree[items.length];
+    }
+
+    // returns the handle of the new item
+    public int enqueue(Item item, double weight) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        validateWeight(weight);
+        int slot;
+        if (freeCount > 0) {
+            slot = free[--freeCount];
+        } else {
+            if (used == items.length) {
+                resize(2 * items.length);
+            }
+            slot = used++;
+        }
+        items[slot] = item;
+        weights[slot] = weight;
+        add(slot, weight);
+        size++;
+        return slot;
+    }
+
+    public Item get(int handle) {
+        validateHandle(handle);
+        return items[handle];
+    }
+
+    public double weight(int handle) {
+        validateHandle(handle);
+        return weights[handle];
+    }
+
+    public void updateWeight(int handle, double weight) {
+        validateHandle(handle);
+        validateWeight(weight);
+        add(handle, weight - weights[handle]);
+        weights[handle] = weight;
+        countUpdate();
+    }
+
+    public Item remove(int handle) {
+        validateHandle(handle);
+        Item item = items[handle];
+        add(handle, -weights[handle]);
+        items[handle] = null;
+        weights[handle] = 0.0;
+        free[freeCount++] = handle;
+        size--;
+        countUpdate();
+        return item;
+    }
+
+    public Item sample() {
+        return items[sampleHandle()];
+    }
+
+    // the handle of an item picked in proportion to its weight, without removing it
+    public int sampleHandle() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No elements in the randomized queue");
+        }
+        while (true) {
+            int slot = find(StdRandom.uniformDouble() * tree[items.length]);
+            if (slot < used && items[slot] != null) {
+                return slot;
+            }
+            // rounding left the draw past the last item or in an empty slot
+            rebuild();
+        }
+    }
+
+    public Item dequeue() {
+        return remove(sampleHandle());
+    }
+
+    private void validateHandle(int handle) {
+        if (handle < 0 || handle >= used || items[handle] == null) {
+            throw new IllegalArgumentException("No item with handle " + handle);
+        }
+    }
+
+    private void validateWeight(double weight) {
+        if (!(weight > 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Weight must be positive and finite");
+        }
+    }
+
+    private void add(int slot, double delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // the first slot whose prefix sum of weights exceeds target
+    private int find(double target) {
+        int pos = 0;
+        for (int step = items.length; step > 0; step >>= 1) {
+            if (pos + step < items.length && tree[pos + step] <= target) {
+                pos += step;
+                target -= tree[pos];
+            }
+        }
+        return pos;
+    }
+
+    private void countUpdate() {
+        if (++updates >= items.length) {
+            rebuild();
+        }
+    }
+
+    // O(n): every node pushes its sum to its parent
+    private void rebuild() {
+        Arrays.fill(tree, 0.0);
+        System.arraycopy(weights, 0, tree, 1, items.length);
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+        updates = 0;
+    }
+
+    private void resize(int capacity) {
+        items = Arrays.copyOf(items, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        free = Arrays.copyOf(free, capacity);
+        tree = new double[capacity + 1];
+        rebuild();
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int draws = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        WeightedRandomizedQueue<Integer> queue = new WeightedRandomizedQueue<>();
+        int[] handles = new int[n];
+        for (int i = 0; i < n; i++) {
+            handles[i] = queue.enqueue(i, i + 1);
+        }
+        boolean passed = report("weights 1.." + n, sampleCounts(queue, n, draws), expected(queue, handles, draws));
+
+        // reverse the weights and take out every third item
+        for (int i = 0; i < n; i++) {
+            queue.updateWeight(handles[i], n - i);
+        }
+        for (int i = 0; i < n; i += 3) {
+            queue.remove(handles[i]);
+            handles[i] = -1;
+        }
+        passed &= report("weights " + n + "..1, every third removed", sampleCounts(queue, n, draws),
+                expected(queue, handles, draws));
+
+        int left = queue.size();
+        int drained = 0;
+        while (!queue.isEmpty()) {
+            queue.dequeue();
+            drained++;
+        }
+        StdOut.println("dequeued " + drained + " items, total weight left = " + queue.totalWeight());
+        passed &= drained == left && queue.totalWeight() == 0;
+        if (!passed) {
+            throw new AssertionError("WeightedRandomizedQueue self-check failed");
+        }
+    }
+
+    private static long[] sampleCounts(WeightedRandomizedQueue<Integer> queue, int n, int draws) {
+        long[] counts = new long[n];
+        for (int d = 0; d < draws; d++) {
+            counts[queue.sample()]++;
+        }
+        return counts;
+    }
+
+    private static double[] expected(WeightedRandomizedQueue<Integer> queue, int[] handles, int draws) {
+        double[] expected = new double[handles.length];
+        for (int i = 0; i < handles.length; i++) {
+            if (handles[i] >= 0) {
+                expected[i] = draws * queue.weight(handles[i]) / queue.totalWeight();
+            }
+        }
+        return expected;
+    }
+
+    /*
+    Prints the chi-square statistic of the sample counts against the weights and returns whether it stays below
+    the critical value at significance 0.001, so a correct queue fails about once in a thousand runs.
+     */
+    private static boolean report(String name, long[] counts, double[] expected) {
+        double chiSquare = 0;
+        int df = -1;
+        for (int i = 0; i < counts.length; i++) {
+            if (expected[i] > 0) {
+                chiSquare += (counts[i] - expected[i]) * (counts[i] - expected[i]) / expected[i];
+                df++;
+            } else if (counts[i] > 0) {
+                chiSquare = Double.POSITIVE_INFINITY;
+            }
+        }
+        double critical = chiSquareCritical(df);
+        StdOut.printf("%-40s chi-square = %.1f (df = %d, critical = %.1f)%n", name, chiSquare, df, critical);
+        return chiSquare <= critical;
+    }
+
+    // Wilson-Hilferty approximation of the 0.999 quantile of the chi-square distribution with df degrees of freedom
+    private static double chiSquareCritical(int df) {
+        if (df <= 0) {
+            return 0;
+        }
+        double z = 3.090232;
+        double a = 2.0 / (9.0 * df);
+        double cube = 1 - a + z * Math.sqrt(a);
+        return df * cube * cube * cube;
+    }
+}
@@ -0,0 +1,182 @@
+package queues;
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+Chase-Lev work-stealing deque. A single owner thread pushes and pops at the bottom with addLast and removeLast,
+which only need a CAS when racing for the last item, while any other thread may steal from the top with
+removeFirst. Indices grow without bound and are mapped onto a power-of-two circular array that the owner
+replaces with a bigger copy when it fills up; thieves still holding the old array read the same items there.
+Methods return null instead of throwing when there is nothing to take, since emptiness can change at any time.
+ */
+public class WorkStealingDeque<Item> {
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final AtomicLong top = new AtomicLong();
+    private volatile long bottom = 0;
+    private volatile CircularArray<Item> array = new CircularArray<>(INITIAL_CAPACITY);
+
+    private static class CircularArray<Item> {
+        private final AtomicReferenceArray<Item> items;
+        private final int mask;
+
+        CircularArray(int capacity) {
+            items = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        Item get(long i) {
+            return items.get((int) i & mask);
+        }
+
+        void put(long i, Item item) {
+            items.set((int) i & mask, item);
+        }
+
+        CircularArray<Item> grow(long bottom, long top) {
+            CircularArray<Item> bigger = new CircularArray<>(2 * capacity());
+            for (long i = top; i < bottom; i++) {
+                bigger.put(i, get(i));
+            }
+            return bigger;
+        }
+    }
+
+    // only an estimate while other threads are stealing
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // only an estimate while other threads are stealing
+    public int size() {
+        long size = bottom - top.get();
+        return size <= 0 ? 0 : (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    // owner thread only
+    public void addLast(Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item must not be null");
+        }
+        long b = bottom;
+        long t = top.get();
+        CircularArray<Item> a = array;
+        if (b - t >= a.capacity() - 1) {
+            a = a.grow(b, t);
+            array = a;
+        }
+        a.put(b, item);
+        bottom = b + 1;
+    }
+
+    // owner thread only; null if the deque is empty or a thief took the last item first
+    public Item removeLast() {
+        long b = bottom - 1;
+        CircularArray<Item> a = array;
+        bottom = b;
+        long t = top.get();
+        if (t > b) {
+            bottom = b + 1;
+            return null;
+        }
+        Item item = a.get(b);
+        if (t == b) {
+            // last item: race the thieves for it by advancing top ourselves
+            if (!top.compareAndSet(t, t + 1)) {
+                item = null;
+            }
+            bottom = b + 1;
+        } else {
+            a.put(b, null);
+        }
+        return item;
+    }
+
+    // any thread; null if the deque is empty or another thread won the race for the top item
+    public Item removeFirst() {
+        long t = top.get();
+        long b = bottom;
+        if (t >= b) {
+            return null;
+        }
+        Item item = array.get(t);
+        if (!top.compareAndSet(t, t + 1)) {
+            return null;
+        }
+        return item;
+    }
+
+    // stress test: the owner pushes and pops while thieves steal, and every item must be taken exactly once
+    public static void main(String[] args) throws InterruptedException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int thieves = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors() - 1;
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong stolen = new AtomicLong();
+        AtomicLong stolenSum = new AtomicLong();
+        int[] seen = new int[items];
+        Thread[] threads = new Thread[Math.max(thieves, 1)];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                while (!done.get()) {
+                    Integer item = deque.removeFirst();
+                    if (item != null) {
+                        stolenSum.addAndGet(item);
+                        stolen.incrementAndGet();
+                        synchronized (seen) {
+                            seen[item]++;
+                        }
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        long popped = 0;
+        long poppedSum = 0;
+        for (int i = 0; i < items; i++) {
+            deque.addLast(i);
+            if (i % 3 == 0) {
+                Integer item = deque.removeLast();
+                if (item != null) {
+                    popped++;
+                    poppedSum += item;
+                    synchronized (seen) {
+                        seen[item]++;
+                    }
+                }
+            }
+        }
+        for (Integer item = deque.removeLast(); item != null || !deque.isEmpty(); item = deque.removeLast()) {
+            if (item != null) {
+                popped++;
+                poppedSum += item;
+                synchronized (seen) {
+                    seen[item]++;
+                }
+            }
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        boolean exactlyOnce = true;
+        for (int count : seen) {
+            exactlyOnce &= count == 1;
+        }
+        long expectedSum = (long) items * (items - 1) / 2;
+        boolean passed = exactlyOnce && poppedSum + stolenSum.get() == expectedSum;
+        StdOut.println("items = " + items + ", popped = " + popped + ", stolen = " + stolen.get());
+        StdOut.println("every item taken exactly once: " + passed);
+        if (!passed) {
+            throw new AssertionError("WorkStealingDeque lost or duplicated items");
+        }
+    }
+}